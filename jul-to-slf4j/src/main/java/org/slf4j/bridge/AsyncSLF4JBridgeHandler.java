@@ -0,0 +1,393 @@
+package org.slf4j.bridge;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ResourceBundle;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.ErrorManager;
+import java.util.logging.LogManager;
+import java.util.logging.LogRecord;
+
+import org.slf4j.Logger;
+import org.slf4j.event.Level;
+import org.slf4j.event.LoggingEventAware;
+import org.slf4j.event.SubstituteLoggingEvent;
+import org.slf4j.spi.LocationAwareLogger;
+
+/**
+ * A {@link SLF4JBridgeHandler} which forwards records to SLF4J on a
+ * dedicated thread, so that the latency of the SLF4J backend is not incurred
+ * by the threads logging through j.u.l.
+ *
+ * <p>Records disabled in SLF4J are discarded on the logging thread, as with
+ * {@link SLF4JBridgeHandler}. The fields of enabled records are copied into a
+ * compact event which is put on a bounded queue. The message is localized and
+ * formatted on the forwarding thread. Parameters are thus rendered as they
+ * are at that time, which makes a difference for mutable parameters only.
+ *
+ * <p>When the queue is full, the {@link OverflowPolicy} of the handler
+ * applies. Events discarded as a result are counted, see
+ * {@link #getDiscardedCount()}.
+ *
+ * <p>Loggers implementing {@link LoggingEventAware} receive the time stamp
+ * and thread name of the original record. Otherwise, location aware loggers
+ * are used when available, as with {@link SLF4JBridgeHandler}. In either
+ * case, the caller cannot be determined on the forwarding thread.
+ *
+ * <p>{@link #flush()} blocks until the events published so far have been
+ * forwarded, {@link #close()} additionally stops the forwarding thread.
+ * Events published after {@link #close()} are ignored. Should the forwarding
+ * thread nonetheless die, records are forwarded on the logging thread.
+ *
+ * <p>The capacity and overflow policy can be set in the j.u.l.
+ * <em>logging.properties</em> configuration file, e.g.
+ *
+ * <pre>
+ * handlers = org.slf4j.bridge.AsyncSLF4JBridgeHandler
+ * org.slf4j.bridge.AsyncSLF4JBridgeHandler.capacity = 4096
+ * org.slf4j.bridge.AsyncSLF4JBridgeHandler.overflowPolicy = DISCARD_NEWEST</pre>
+ *
+ * @author Ceki G&uuml;lc&uuml;
+ * @since 2.0.0
+ */
+public class AsyncSLF4JBridgeHandler extends SLF4JBridgeHandler {
+
+    /**
+     * What to do with a record published while the queue is full.
+     */
+    public enum OverflowPolicy {
+        /** Wait until the queue has room, the default */
+        BLOCK,
+        /** Discard the record being published */
+        DISCARD_NEWEST,
+        /** Discard the oldest queued record to make room */
+        DISCARD_OLDEST
+    }
+
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    static final String THREAD_NAME = "slf4j-jul-bridge";
+
+    // maximum number of events taken off the queue at once
+    private static final int MAX_BATCH_SIZE = 64;
+    // how long the forwarding thread, or a publisher blocked on a full queue,
+    // waits before checking whether the handler was closed, respectively
+    // whether the forwarding thread is still alive
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+
+    private final BlockingQueue<BridgeEvent> queue;
+    private final OverflowPolicy overflowPolicy;
+    private final Thread worker;
+
+    private final AtomicLong discardedCount = new AtomicLong();
+    // number of events queued so far
+    private final AtomicLong queuedCount = new AtomicLong();
+    // number of queued events forwarded or discarded so far, guarded by
+    // 'this' which is notified whenever it increases
+    private long retiredCount;
+
+    private volatile boolean closed;
+
+    /**
+     * Adds an AsyncSLF4JBridgeHandler instance, configured by the j.u.l.
+     * {@link LogManager}, to jul's root logger. {@link #uninstall()} removes
+     * and closes it.
+     */
+    public static void install() {
+        LogManager.getLogManager().getLogger("").addHandler(new AsyncSLF4JBridgeHandler());
+    }
+
+    /**
+     * Initialize this handler with the capacity and overflow policy
+     * configured by the j.u.l. {@link LogManager}, defaulting to
+     * {@value #DEFAULT_CAPACITY} and {@link OverflowPolicy#BLOCK}.
+     */
+    public AsyncSLF4JBridgeHandler() {
+        this(getCapacityProperty(), getOverflowPolicyProperty());
+    }
+
+    /**
+     * Initialize this handler and start its forwarding thread.
+     *
+     * @param capacity the maximum number of records waiting to be forwarded
+     * @param overflowPolicy what to do with records published while 'capacity'
+     *                       records are waiting
+     */
+    public AsyncSLF4JBridgeHandler(int capacity, OverflowPolicy overflowPolicy) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive, got " + capacity);
+        }
+        if (overflowPolicy == null) {
+            throw new IllegalArgumentException("Overflow policy cannot be null");
+        }
+        this.queue = new ArrayBlockingQueue<BridgeEvent>(capacity);
+        this.overflowPolicy = overflowPolicy;
+        this.worker = new Thread(new Runnable() {
+            public void run() {
+                forwardEvents();
+            }
+        }, THREAD_NAME);
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    private static int getCapacityProperty() {
+        String capacity = LogManager.getLogManager().getProperty(AsyncSLF4JBridgeHandler.class.getName() + ".capacity");
+        if (capacity == null) {
+            return DEFAULT_CAPACITY;
+        }
+        try {
+            return Integer.parseInt(capacity.trim());
+        } catch (NumberFormatException e) {
+            return DEFAULT_CAPACITY;
+        }
+    }
+
+    private static OverflowPolicy getOverflowPolicyProperty() {
+        String overflowPolicy = LogManager.getLogManager().getProperty(AsyncSLF4JBridgeHandler.class.getName() + ".overflowPolicy");
+        if (overflowPolicy == null) {
+            return OverflowPolicy.BLOCK;
+        }
+        try {
+            return OverflowPolicy.valueOf(overflowPolicy.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return OverflowPolicy.BLOCK;
+        }
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * The number of records discarded so far because the queue was full.
+     */
+    public long getDiscardedCount() {
+        return discardedCount.get();
+    }
+
+    /**
+     * Queue a LogRecord to be forwarded to SLF4J. A null record, or any
+     * record published after {@link #close()}, is silently ignored.
+     */
+    @Override
+    public void publish(LogRecord record) {
+        if (record == null || closed) {
+            return;
+        }
+        Logger slf4jLogger = getSLF4JLogger(record);
+        int slf4jLevel = toSLF4JLevel(record);
+        if (!isEnabled(slf4jLogger, slf4jLevel)) {
+            return;
+        }
+        BridgeEvent event = new BridgeEvent(slf4jLogger, slf4jLevel, record);
+        if (!worker.isAlive()) {
+            forwardSafely(event);
+            return;
+        }
+        enqueue(event);
+    }
+
+    private void enqueue(BridgeEvent event) {
+        switch (overflowPolicy) {
+        case BLOCK:
+            try {
+                while (!queue.offer(event, POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                    if (!worker.isAlive()) {
+                        forwardSafely(event);
+                        return;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                discardedCount.incrementAndGet();
+                return;
+            }
+            break;
+        case DISCARD_NEWEST:
+            if (!queue.offer(event)) {
+                discardedCount.incrementAndGet();
+                return;
+            }
+            break;
+        case DISCARD_OLDEST:
+            while (!queue.offer(event)) {
+                if (queue.poll() != null) {
+                    discardedCount.incrementAndGet();
+                    retire(1);
+                }
+            }
+            break;
+        }
+        queuedCount.incrementAndGet();
+    }
+
+    private void forwardEvents() {
+        List<BridgeEvent> batch = new ArrayList<BridgeEvent>(MAX_BATCH_SIZE);
+        while (true) {
+            BridgeEvent first;
+            try {
+                first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                // only close() stops the forwarding thread, by way of 'closed'
+                continue;
+            }
+            if (first == null) {
+                // stop once records published concurrently with close() are
+                // forwarded as well
+                if (closed && queue.isEmpty()) {
+                    return;
+                }
+                continue;
+            }
+            batch.add(first);
+            queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+            for (BridgeEvent event : batch) {
+                forwardSafely(event);
+            }
+            retire(batch.size());
+            batch.clear();
+        }
+    }
+
+    // an Error thrown downstream must not kill the forwarding thread
+    private void forwardSafely(BridgeEvent event) {
+        try {
+            forward(event);
+        } catch (Throwable t) {
+            reportError("Failed to forward record to SLF4J", t instanceof Exception ? (Exception) t : new RuntimeException(t),
+                            ErrorManager.WRITE_FAILURE);
+        }
+    }
+
+    private void forward(BridgeEvent event) {
+        String message = getMessageI18N(event.message, event.resourceBundle, event.parameters);
+        Logger slf4jLogger = event.logger;
+        if (slf4jLogger instanceof LoggingEventAware) {
+            SubstituteLoggingEvent loggingEvent = new SubstituteLoggingEvent();
+            loggingEvent.setLevel(Level.intToLevel(event.level));
+            loggingEvent.setLoggerName(slf4jLogger.getName());
+            loggingEvent.setMessage(message);
+            loggingEvent.setThrowable(event.thrown);
+            loggingEvent.setTimeStamp(event.millis);
+            loggingEvent.setThreadName(event.threadName);
+            ((LoggingEventAware) slf4jLogger).log(loggingEvent);
+        } else if (slf4jLogger instanceof LocationAwareLogger) {
+            ((LocationAwareLogger) slf4jLogger).log(null, FQCN, event.level, message, null, event.thrown);
+        } else {
+            switch (event.level) {
+            case LocationAwareLogger.TRACE_INT:
+                slf4jLogger.trace(message, event.thrown);
+                break;
+            case LocationAwareLogger.DEBUG_INT:
+                slf4jLogger.debug(message, event.thrown);
+                break;
+            case LocationAwareLogger.INFO_INT:
+                slf4jLogger.info(message, event.thrown);
+                break;
+            case LocationAwareLogger.WARN_INT:
+                slf4jLogger.warn(message, event.thrown);
+                break;
+            default:
+                slf4jLogger.error(message, event.thrown);
+            }
+        }
+    }
+
+    private synchronized void retire(int count) {
+        if (count > 0) {
+            retiredCount += count;
+            notifyAll();
+        }
+    }
+
+    /**
+     * Block until the records published so far, by any thread, have been
+     * forwarded to SLF4J or discarded.
+     */
+    @Override
+    public void flush() {
+        long target = queuedCount.get();
+        boolean interrupted = false;
+        synchronized (this) {
+            while (retiredCount < target && worker.isAlive()) {
+                try {
+                    wait(100);
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Forward the records published so far and stop the forwarding thread.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        flush();
+        // not interrupted, which would close any interruptible channel it
+        // might be writing to downstream
+        boolean interrupted = false;
+        while (true) {
+            try {
+                worker.join();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * The fields of a {@link LogRecord} needed to forward it to SLF4J.
+     */
+    static class BridgeEvent {
+        final Logger logger;
+        final int level;
+        final String message;
+        final ResourceBundle resourceBundle;
+        final Object[] parameters;
+        final Throwable thrown;
+        final long millis;
+        final String threadName;
+
+        BridgeEvent(Logger logger, int level, LogRecord record) {
+            this.logger = logger;
+            this.level = level;
+            String message = record.getMessage();
+            // see SLF4JBridgeHandler.publish
+            this.message = message == null ? "" : message;
+            this.resourceBundle = record.getResourceBundle();
+            this.parameters = record.getParameters();
+            this.thrown = record.getThrown();
+            this.millis = record.getMillis();
+            this.threadName = getThreadName(record);
+        }
+
+        @SuppressWarnings("deprecation")
+        private static String getThreadName(LogRecord record) {
+            Thread current = Thread.currentThread();
+            // records are usually published by the thread which created them
+            if ((int) current.getId() == record.getThreadID()) {
+                return current.getName();
+            }
+            return "thread-" + record.getThreadID();
+        }
+    }
+}
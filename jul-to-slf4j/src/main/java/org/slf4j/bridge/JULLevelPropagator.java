@@ -0,0 +1,189 @@
+package org.slf4j.bridge;
+
+import java.util.Enumeration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.LogManager;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Propagates the effective levels of SLF4J loggers to the j.u.l. loggers of
+ * the same name, so that j.u.l. discards disabled log statements before
+ * creating a {@link java.util.logging.LogRecord}, instead of
+ * {@link SLF4JBridgeHandler} discarding the record after the fact.
+ *
+ * <p>The j.u.l. level assigned to a logger is the lowest level which
+ * {@link SLF4JBridgeHandler} translates into an SLF4J level enabled for that
+ * logger, or {@link Level#OFF} if none is. For example, a logger enabled for
+ * INFO in SLF4J is assigned {@link Level#CONFIG}, which is translated to INFO.
+ *
+ * <p>Only the loggers passed to {@link #propagate(String)}, or existing when
+ * {@link #propagateExistingLoggers()} is invoked, are assigned a level.
+ * Other j.u.l. loggers inherit the level of their nearest propagated
+ * ancestor. Hence, a logger which SLF4J enables for a lower level than its
+ * ancestors must be propagated explicitly or its lower level statements will
+ * be discarded by j.u.l.
+ *
+ * <p>j.u.l. only holds weak references to its loggers, which would lose
+ * their level once garbage collected. The propagator keeps a strong
+ * reference to every logger it assigns a level to.
+ *
+ * <p>SLF4J does not notify level changes. Invoke {@link #resync()} after
+ * changing the configuration of the SLF4J backend, or {@link #start(long,
+ * TimeUnit)} to resynchronize periodically.
+ *
+ * <pre>
+ * SLF4JBridgeHandler.install();
+ * JULLevelPropagator propagator = new JULLevelPropagator();
+ * propagator.propagate(&quot;&quot;); // the root logger
+ * propagator.propagate(&quot;org.wombat&quot;);
+ * propagator.start(30, TimeUnit.SECONDS);</pre>
+ *
+ * @author Ceki G&uuml;lc&uuml;
+ * @since 2.0.0
+ */
+public class JULLevelPropagator {
+
+    static final String THREAD_NAME = "slf4j-jul-level-propagator";
+
+    // strong references to the j.u.l. loggers assigned a level
+    private final ConcurrentMap<String, PropagatedLogger> propagatedLoggers = new ConcurrentHashMap<String, PropagatedLogger>();
+
+    private Thread resyncThread;
+
+    /**
+     * Assign the j.u.l. logger named 'loggerName' the level matching the
+     * effective level of the SLF4J logger of the same name, now and on each
+     * subsequent resynchronization. The empty string designates the root
+     * logger.
+     */
+    public void propagate(String loggerName) {
+        PropagatedLogger propagatedLogger = propagatedLoggers.get(loggerName);
+        if (propagatedLogger == null) {
+            // the original level is captured before any level is assigned,
+            // only the instance which wins the insertion is kept
+            PropagatedLogger newLogger = new PropagatedLogger(java.util.logging.Logger.getLogger(loggerName));
+            propagatedLogger = propagatedLoggers.putIfAbsent(loggerName, newLogger);
+            if (propagatedLogger == null) {
+                propagatedLogger = newLogger;
+            }
+        }
+        sync(loggerName, propagatedLogger.julLogger);
+    }
+
+    /**
+     * Propagate the level of every j.u.l. logger known at this time.
+     */
+    public void propagateExistingLoggers() {
+        Enumeration<String> loggerNames = LogManager.getLogManager().getLoggerNames();
+        while (loggerNames.hasMoreElements()) {
+            propagate(loggerNames.nextElement());
+        }
+    }
+
+    /**
+     * Reassign the level of every logger propagated so far according to the
+     * current SLF4J levels.
+     */
+    public void resync() {
+        for (Map.Entry<String, PropagatedLogger> entry : propagatedLoggers.entrySet()) {
+            sync(entry.getKey(), entry.getValue().julLogger);
+        }
+    }
+
+    private static void sync(String loggerName, java.util.logging.Logger julLogger) {
+        Logger slf4jLogger = LoggerFactory.getLogger(loggerName.isEmpty() ? Logger.ROOT_LOGGER_NAME : loggerName);
+        Level julLevel = toJULLevel(slf4jLogger);
+        if (!julLevel.equals(julLogger.getLevel())) {
+            julLogger.setLevel(julLevel);
+        }
+    }
+
+    /**
+     * The lowest j.u.l. level which {@link SLF4JBridgeHandler} translates
+     * into a level enabled for the given SLF4J logger.
+     */
+    static Level toJULLevel(Logger slf4jLogger) {
+        if (slf4jLogger.isTraceEnabled()) {
+            // anything at or below FINEST is translated to TRACE
+            return Level.ALL;
+        } else if (slf4jLogger.isDebugEnabled()) {
+            return Level.FINER;
+        } else if (slf4jLogger.isInfoEnabled()) {
+            return Level.CONFIG;
+        } else if (slf4jLogger.isWarnEnabled()) {
+            return Level.WARNING;
+        } else if (slf4jLogger.isErrorEnabled()) {
+            return Level.SEVERE;
+        } else {
+            return Level.OFF;
+        }
+    }
+
+    /**
+     * Resynchronize levels periodically on a daemon thread until
+     * {@link #stop()} is invoked.
+     */
+    public synchronized void start(final long period, final TimeUnit unit) {
+        if (resyncThread != null) {
+            throw new IllegalStateException("Already started");
+        }
+        resyncThread = new Thread(new Runnable() {
+            public void run() {
+                while (!Thread.currentThread().isInterrupted()) {
+                    try {
+                        unit.sleep(period);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    resync();
+                }
+            }
+        }, THREAD_NAME);
+        resyncThread.setDaemon(true);
+        resyncThread.start();
+    }
+
+    /**
+     * Stop periodic resynchronization. Levels assigned so far are left as
+     * they are.
+     */
+    public synchronized void stop() {
+        if (resyncThread != null) {
+            resyncThread.interrupt();
+            resyncThread = null;
+        }
+    }
+
+    /**
+     * Stop periodic resynchronization, restore the level every propagated
+     * logger had before being propagated, and release the references to
+     * these loggers.
+     */
+    public void reset() {
+        stop();
+        for (Map.Entry<String, PropagatedLogger> entry : propagatedLoggers.entrySet()) {
+            PropagatedLogger propagatedLogger = entry.getValue();
+            // loggers propagated concurrently are either restored or kept
+            if (propagatedLoggers.remove(entry.getKey(), propagatedLogger)) {
+                propagatedLogger.julLogger.setLevel(propagatedLogger.originalLevel);
+            }
+        }
+    }
+
+    private static class PropagatedLogger {
+        final java.util.logging.Logger julLogger;
+        // may be null, i.e. inherited from the parent
+        final Level originalLevel;
+
+        PropagatedLogger(java.util.logging.Logger julLogger) {
+            this.julLogger = julLogger;
+            this.originalLevel = julLogger.getLevel();
+        }
+    }
+}
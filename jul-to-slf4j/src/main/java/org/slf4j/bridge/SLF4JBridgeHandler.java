@@ -27,6 +27,8 @@ package org.slf4j.bridge;
 import java.text.MessageFormat;
 import java.util.MissingResourceException;
 import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Handler;
 import java.util.logging.Level;
 import java.util.logging.LogManager;
@@ -81,13 +83,23 @@ import org.slf4j.spi.LocationAwareLogger;
  * statements (20% overall increase).</b> Please note that as of logback-version 0.9.25,
  * it is possible to completely eliminate the 60 fold translation overhead for disabled
  * log statements with the help of <a href="http://logback.qos.ch/manual/configuration.html#LevelChangePropagator">LevelChangePropagator</a>.
+ * With other SLF4J bindings, {@link JULLevelPropagator} serves the same purpose.
+ *
+ * <p>To keep the translation cost down, each handler caches the SLF4J loggers
+ * it looks up as well as the {@link MessageFormat} instances compiled for
+ * records with parameters, both up to a fixed number of entries. Records whose
+ * level is disabled in SLF4J are discarded before their message is localized
+ * or formatted.
+ *
+ * <p>Records are forwarded to SLF4J on the thread which logs them.
+ * {@link AsyncSLF4JBridgeHandler} forwards them on a dedicated thread instead.
  * 
  *
  * <p>If you are concerned about application performance, then use of <code>SLF4JBridgeHandler</code>
  * is appropriate only if any one the following two conditions is true:
  * <ol>
  * <li>few j.u.l. logging statements are in play</li>
- * <li>LevelChangePropagator has been installed</li>
+ * <li>LevelChangePropagator or {@link JULLevelPropagator} has been installed</li>
  * </ol>
  *
  * <h2>As a Java 9/Jigsaw module</h2>
@@ -108,7 +120,7 @@ import org.slf4j.spi.LocationAwareLogger;
 public class SLF4JBridgeHandler extends Handler {
 
     // The caller is java.util.logging.Logger
-    private static final String FQCN = java.util.logging.Logger.class.getName();
+    static final String FQCN = java.util.logging.Logger.class.getName();
     private static final String UNKNOWN_LOGGER_NAME = "unknown.jul.logger";
 
     private static final int TRACE_LEVEL_THRESHOLD = Level.FINEST.intValue();
@@ -116,6 +128,14 @@ public class SLF4JBridgeHandler extends Handler {
     private static final int INFO_LEVEL_THRESHOLD = Level.INFO.intValue();
     private static final int WARN_LEVEL_THRESHOLD = Level.WARNING.intValue();
 
+    // maximum number of entries of each cache, entries beyond are not cached
+    static final int MAX_CACHE_SIZE = 1024;
+
+    private final ConcurrentMap<String, Logger> loggerCache = new ConcurrentHashMap<String, Logger>();
+    // MessageFormat instances are not thread-safe, the cached ones serve as
+    // prototypes which are cloned, never used directly
+    private final ConcurrentMap<String, MessageFormat> messageFormatCache = new ConcurrentHashMap<String, MessageFormat>();
+
     /**
      * Adds a SLF4JBridgeHandler instance to jul's root logger.
      * 
@@ -146,6 +166,8 @@ public class SLF4JBridgeHandler extends Handler {
         for (int i = 0; i < handlers.length; i++) {
             if (handlers[i] instanceof SLF4JBridgeHandler) {
                 rootLogger.removeHandler(handlers[i]);
+                // drains asynchronous handlers
+                handlers[i].close();
             }
         }
     }
@@ -210,24 +232,48 @@ public class SLF4JBridgeHandler extends Handler {
         if (name == null) {
             name = UNKNOWN_LOGGER_NAME;
         }
-        return LoggerFactory.getLogger(name);
+        Logger logger = loggerCache.get(name);
+        if (logger == null) {
+            logger = LoggerFactory.getLogger(name);
+            if (loggerCache.size() < MAX_CACHE_SIZE) {
+                loggerCache.putIfAbsent(name, logger);
+            }
+        }
+        return logger;
     }
 
-    protected void callLocationAwareLogger(LocationAwareLogger lal, LogRecord record) {
+    static int toSLF4JLevel(LogRecord record) {
         int julLevelValue = record.getLevel().intValue();
-        int slf4jLevel;
-
         if (julLevelValue <= TRACE_LEVEL_THRESHOLD) {
-            slf4jLevel = LocationAwareLogger.TRACE_INT;
+            return LocationAwareLogger.TRACE_INT;
         } else if (julLevelValue <= DEBUG_LEVEL_THRESHOLD) {
-            slf4jLevel = LocationAwareLogger.DEBUG_INT;
+            return LocationAwareLogger.DEBUG_INT;
         } else if (julLevelValue <= INFO_LEVEL_THRESHOLD) {
-            slf4jLevel = LocationAwareLogger.INFO_INT;
+            return LocationAwareLogger.INFO_INT;
         } else if (julLevelValue <= WARN_LEVEL_THRESHOLD) {
-            slf4jLevel = LocationAwareLogger.WARN_INT;
+            return LocationAwareLogger.WARN_INT;
         } else {
-            slf4jLevel = LocationAwareLogger.ERROR_INT;
+            return LocationAwareLogger.ERROR_INT;
+        }
+    }
+
+    static boolean isEnabled(Logger slf4jLogger, int slf4jLevel) {
+        switch (slf4jLevel) {
+        case LocationAwareLogger.TRACE_INT:
+            return slf4jLogger.isTraceEnabled();
+        case LocationAwareLogger.DEBUG_INT:
+            return slf4jLogger.isDebugEnabled();
+        case LocationAwareLogger.INFO_INT:
+            return slf4jLogger.isInfoEnabled();
+        case LocationAwareLogger.WARN_INT:
+            return slf4jLogger.isWarnEnabled();
+        default:
+            return slf4jLogger.isErrorEnabled();
         }
+    }
+
+    protected void callLocationAwareLogger(LocationAwareLogger lal, LogRecord record) {
+        int slf4jLevel = toSLF4JLevel(record);
         String i18nMessage = getMessageI18N(record);
         lal.log(null, FQCN, slf4jLevel, i18nMessage, null, record.getThrown());
     }
@@ -255,25 +301,25 @@ public class SLF4JBridgeHandler extends Handler {
      * @return
      */
     private String getMessageI18N(LogRecord record) {
-        String message = record.getMessage();
+        return getMessageI18N(record.getMessage(), record.getResourceBundle(), record.getParameters());
+    }
 
+    String getMessageI18N(String message, ResourceBundle bundle, Object[] params) {
         if (message == null) {
             return null;
         }
 
-        ResourceBundle bundle = record.getResourceBundle();
         if (bundle != null) {
             try {
                 message = bundle.getString(message);
             } catch (MissingResourceException e) {
             }
         }
-        Object[] params = record.getParameters();
         // avoid formatting when there are no or 0 parameters. see also
         // http://jira.qos.ch/browse/SLF4J-203
         if (params != null && params.length > 0) {
             try {
-                message = MessageFormat.format(message, params);
+                message = getMessageFormat(message).format(params);
             } catch (IllegalArgumentException e) {
                 // default to the same behavior as in java.util.logging.Formatter.formatMessage(LogRecord)
                 // see also http://jira.qos.ch/browse/SLF4J-337
@@ -283,6 +329,25 @@ public class SLF4JBridgeHandler extends Handler {
         return message;
     }
 
+    /**
+     * Return a MessageFormat for the given pattern owned by the caller, cloned
+     * from the cached prototype if there is one, so that no lock is needed to
+     * use it.
+     */
+    private MessageFormat getMessageFormat(String pattern) {
+        MessageFormat prototype = messageFormatCache.get(pattern);
+        if (prototype != null) {
+            return (MessageFormat) prototype.clone();
+        }
+        // throws IllegalArgumentException for invalid patterns, which are
+        // thus not cached
+        MessageFormat messageFormat = new MessageFormat(pattern);
+        if (messageFormatCache.size() < MAX_CACHE_SIZE) {
+            messageFormatCache.putIfAbsent(pattern, (MessageFormat) messageFormat.clone());
+        }
+        return messageFormat;
+    }
+
     /**
      * Publish a LogRecord.
      * <p>
@@ -302,6 +367,10 @@ public class SLF4JBridgeHandler extends Handler {
         }
 
         Logger slf4jLogger = getSLF4JLogger(record);
+        // checked before any localization or formatting work
+        if (!isEnabled(slf4jLogger, toSLF4JLevel(record))) {
+            return;
+        }
         // this is a check to avoid calling the underlying logging system
         // with a null message. While it is legitimate to invoke j.u.l. with
         // a null message, other logging frameworks do not support this.
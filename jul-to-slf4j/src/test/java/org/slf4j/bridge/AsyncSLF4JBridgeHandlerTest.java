@@ -0,0 +1,210 @@
+package org.slf4j.bridge;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import org.apache.log4j.AppenderSkeleton;
+import org.apache.log4j.spi.LoggingEvent;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.bridge.AsyncSLF4JBridgeHandler.OverflowPolicy;
+
+public class AsyncSLF4JBridgeHandlerTest {
+
+    static String LOGGER_NAME = "async";
+
+    ListAppender listAppender = new ListAppender();
+    org.apache.log4j.Logger log4jRoot;
+    java.util.logging.Logger julLogger = java.util.logging.Logger.getLogger(LOGGER_NAME);
+    AsyncSLF4JBridgeHandler handler;
+
+    @Before
+    public void setUp() throws Exception {
+        log4jRoot = org.apache.log4j.Logger.getRootLogger();
+        log4jRoot.addAppender(listAppender);
+        log4jRoot.setLevel(org.apache.log4j.Level.INFO);
+        julLogger.setUseParentHandlers(false);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (handler != null) {
+            julLogger.removeHandler(handler);
+            handler.close();
+        }
+        julLogger.setUseParentHandlers(true);
+        log4jRoot.getLoggerRepository().resetConfiguration();
+    }
+
+    void install(int capacity, OverflowPolicy overflowPolicy) {
+        handler = new AsyncSLF4JBridgeHandler(capacity, overflowPolicy);
+        julLogger.addHandler(handler);
+    }
+
+    @Test
+    public void recordsAreForwardedOnAnotherThread() {
+        install(16, OverflowPolicy.BLOCK);
+        LogRecord record = new LogRecord(Level.INFO, "Hello {0}");
+        record.setLoggerName(LOGGER_NAME);
+        record.setParameters(new Object[] { "world" });
+        record.setMillis(1234L);
+        record.setThrown(new IllegalStateException("boom"));
+        julLogger.log(record);
+        handler.flush();
+
+        assertEquals(1, listAppender.list.size());
+        LoggingEvent event = listAppender.list.get(0);
+        assertEquals(LOGGER_NAME, event.getLoggerName());
+        assertEquals("Hello world", event.getMessage());
+        assertEquals(org.apache.log4j.Level.INFO, event.getLevel());
+        assertEquals("boom", event.getThrowableInformation().getThrowable().getMessage());
+        // taken from the record rather than from the forwarding thread
+        assertEquals(1234L, event.getTimeStamp());
+        assertEquals(Thread.currentThread().getName(), event.getThreadName());
+    }
+
+    @Test
+    public void disabledRecordsAreNotQueued() {
+        install(16, OverflowPolicy.BLOCK);
+        log4jRoot.setLevel(org.apache.log4j.Level.WARN);
+        julLogger.info("discarded");
+        julLogger.warning("forwarded");
+        handler.flush();
+        assertEquals(1, listAppender.list.size());
+        assertEquals("forwarded", listAppender.list.get(0).getMessage());
+    }
+
+    @Test
+    public void newestRecordsAreDiscardedWhenFull() throws InterruptedException {
+        BlockingAppender blockingAppender = new BlockingAppender();
+        log4jRoot.addAppender(blockingAppender);
+        install(2, OverflowPolicy.DISCARD_NEWEST);
+
+        julLogger.info("0");
+        blockingAppender.awaitEntered();
+        for (int i = 1; i <= 4; i++) {
+            julLogger.info(String.valueOf(i));
+        }
+        assertEquals(2, handler.getDiscardedCount());
+        blockingAppender.release();
+        handler.flush();
+
+        assertEquals(3, listAppender.list.size());
+        assertEquals("1", listAppender.list.get(1).getMessage());
+        assertEquals("2", listAppender.list.get(2).getMessage());
+    }
+
+    @Test
+    public void oldestRecordsAreDiscardedWhenFull() throws InterruptedException {
+        BlockingAppender blockingAppender = new BlockingAppender();
+        log4jRoot.addAppender(blockingAppender);
+        install(2, OverflowPolicy.DISCARD_OLDEST);
+
+        julLogger.info("0");
+        blockingAppender.awaitEntered();
+        for (int i = 1; i <= 4; i++) {
+            julLogger.info(String.valueOf(i));
+        }
+        assertEquals(2, handler.getDiscardedCount());
+        blockingAppender.release();
+        handler.flush();
+
+        assertEquals(3, listAppender.list.size());
+        assertEquals("3", listAppender.list.get(1).getMessage());
+        assertEquals("4", listAppender.list.get(2).getMessage());
+    }
+
+    @Test
+    public void closeDrainsTheQueue() {
+        install(1024, OverflowPolicy.BLOCK);
+        for (int i = 0; i < 500; i++) {
+            julLogger.info("msg " + i);
+        }
+        handler.close();
+        assertEquals(500, listAppender.list.size());
+        assertEquals("msg 499", listAppender.list.get(499).getMessage());
+
+        julLogger.info("ignored");
+        assertEquals(500, listAppender.list.size());
+    }
+
+    @Test
+    public void uninstallClosesTheHandler() {
+        AsyncSLF4JBridgeHandler.install();
+        try {
+            assertTrue(SLF4JBridgeHandler.isInstalled());
+            java.util.logging.Logger.getLogger("installed").info("msg");
+        } finally {
+            SLF4JBridgeHandler.uninstall();
+        }
+        assertFalse(SLF4JBridgeHandler.isInstalled());
+        assertEquals(1, listAppender.list.size());
+    }
+
+    @Test
+    public void errorsThrownDownstreamDoNotStopForwarding() {
+        log4jRoot.addAppender(new FailingAppender());
+        install(1, OverflowPolicy.BLOCK);
+        handler.setErrorManager(new java.util.logging.ErrorManager() {
+            public synchronized void error(String msg, Exception ex, int code) {
+            }
+        });
+        for (int i = 0; i < 5; i++) {
+            julLogger.info("msg " + i);
+        }
+        handler.flush();
+        assertEquals(5, listAppender.list.size());
+        assertEquals("msg 4", listAppender.list.get(4).getMessage());
+    }
+
+    static class FailingAppender extends AppenderSkeleton {
+
+        protected void append(LoggingEvent event) {
+            throw new StackOverflowError("thrown by the appender");
+        }
+
+        public void close() {
+        }
+
+        public boolean requiresLayout() {
+            return false;
+        }
+    }
+
+    static class BlockingAppender extends AppenderSkeleton {
+
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch released = new CountDownLatch(1);
+
+        protected void append(LoggingEvent event) {
+            entered.countDown();
+            try {
+                released.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        void awaitEntered() throws InterruptedException {
+            assertTrue(entered.await(5, TimeUnit.SECONDS));
+        }
+
+        void release() {
+            released.countDown();
+        }
+
+        public void close() {
+        }
+
+        public boolean requiresLayout() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package org.slf4j.bridge;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class JULLevelPropagatorTest {
+
+    static String LOGGER_NAME = "propagated";
+
+    ListAppender listAppender = new ListAppender();
+    org.apache.log4j.Logger log4jRoot;
+    JULLevelPropagator propagator = new JULLevelPropagator();
+
+    @Before
+    public void setUp() throws Exception {
+        log4jRoot = org.apache.log4j.Logger.getRootLogger();
+        log4jRoot.addAppender(listAppender);
+        log4jRoot.setLevel(org.apache.log4j.Level.INFO);
+        SLF4JBridgeHandler.install();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        propagator.reset();
+        SLF4JBridgeHandler.uninstall();
+        log4jRoot.getLoggerRepository().resetConfiguration();
+    }
+
+    @Test
+    public void levelsArePropagated() {
+        org.apache.log4j.Logger.getLogger(LOGGER_NAME).setLevel(org.apache.log4j.Level.WARN);
+        propagator.propagate(LOGGER_NAME);
+        java.util.logging.Logger julLogger = java.util.logging.Logger.getLogger(LOGGER_NAME);
+        assertEquals(Level.WARNING, julLogger.getLevel());
+        assertEquals(false, julLogger.isLoggable(Level.INFO));
+
+        julLogger.info("discarded by j.u.l.");
+        julLogger.warning("forwarded");
+        assertEquals(1, listAppender.list.size());
+    }
+
+    @Test
+    public void rootLevelIsPropagated() {
+        java.util.logging.Logger julRoot = java.util.logging.Logger.getLogger("");
+        Level originalLevel = julRoot.getLevel();
+        log4jRoot.setLevel(org.apache.log4j.Level.DEBUG);
+        propagator.propagate("");
+        assertEquals(Level.FINER, julRoot.getLevel());
+
+        propagator.reset();
+        assertEquals(originalLevel, julRoot.getLevel());
+    }
+
+    @Test
+    public void levelsAreMapped() {
+        org.apache.log4j.Logger log4jLogger = org.apache.log4j.Logger.getLogger(LOGGER_NAME);
+        propagator.propagate(LOGGER_NAME);
+        java.util.logging.Logger julLogger = java.util.logging.Logger.getLogger(LOGGER_NAME);
+
+        org.apache.log4j.Level[] log4jLevels = { org.apache.log4j.Level.TRACE, org.apache.log4j.Level.DEBUG, org.apache.log4j.Level.INFO,
+                org.apache.log4j.Level.WARN, org.apache.log4j.Level.ERROR, org.apache.log4j.Level.OFF };
+        Level[] julLevels = { Level.ALL, Level.FINER, Level.CONFIG, Level.WARNING, Level.SEVERE, Level.OFF };
+        for (int i = 0; i < log4jLevels.length; i++) {
+            log4jLogger.setLevel(log4jLevels[i]);
+            propagator.resync();
+            assertEquals(julLevels[i], julLogger.getLevel());
+        }
+    }
+
+    @Test
+    public void levelChangesAreResynced() throws InterruptedException {
+        org.apache.log4j.Logger log4jLogger = org.apache.log4j.Logger.getLogger(LOGGER_NAME);
+        log4jLogger.setLevel(org.apache.log4j.Level.ERROR);
+        propagator.propagate(LOGGER_NAME);
+        propagator.start(10, TimeUnit.MILLISECONDS);
+
+        log4jLogger.setLevel(org.apache.log4j.Level.DEBUG);
+        java.util.logging.Logger julLogger = java.util.logging.Logger.getLogger(LOGGER_NAME);
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!Level.FINER.equals(julLogger.getLevel()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(Level.FINER, julLogger.getLevel());
+    }
+
+    @Test
+    public void propagatedLoggersAreRetained() {
+        org.apache.log4j.Logger.getLogger("retained").setLevel(org.apache.log4j.Level.ERROR);
+        propagator.propagate("retained");
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+        }
+        // j.u.l. would hand out a new logger, without any level, had the
+        // propagated one been collected
+        assertEquals(Level.SEVERE, java.util.logging.Logger.getLogger("retained").getLevel());
+
+        propagator.reset();
+        assertNull(java.util.logging.Logger.getLogger("retained").getLevel());
+    }
+}
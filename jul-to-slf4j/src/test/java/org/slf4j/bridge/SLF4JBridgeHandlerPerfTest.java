@@ -25,12 +25,14 @@
 package org.slf4j.bridge;
 
 import java.util.logging.Handler;
+import java.util.logging.Level;
 import java.util.logging.LogManager;
 
 import org.apache.log4j.FileAppender;
 import org.apache.log4j.PatternLayout;
 import org.junit.After;
 import org.junit.Before;
+import org.junit.Ignore;
 import org.junit.Test;
 import org.slf4j.LoggerFactory;
 
@@ -39,9 +41,6 @@ public class SLF4JBridgeHandlerPerfTest {
     static String LOGGER_NAME = "yay";
     static int RUN_LENGTH = 100 * 1000;
 
-    // set to false to test enabled logging performance
-    boolean disabledLogger = true;
-
     FileAppender fileAppender;
     org.apache.log4j.Logger log4jRoot;
     java.util.logging.Logger julRootLogger = LogManager.getLogManager().getLogger("");
@@ -82,6 +81,16 @@ public class SLF4JBridgeHandlerPerfTest {
         return (end - start) * 1.0 / RUN_LENGTH;
     }
 
+    double julLoggerWithParametersLoop() {
+        Object[] params = new Object[] { "a", Integer.valueOf(1) };
+        long start = System.nanoTime();
+        for (int i = 0; i < RUN_LENGTH; i++) {
+            julLogger.log(Level.INFO, "jul {0} {1}", params);
+        }
+        long end = System.nanoTime();
+        return (end - start) * 1.0 / RUN_LENGTH;
+    }
+
     double slf4jLoggerLoop() {
         long start = System.nanoTime();
         for (int i = 0; i < RUN_LENGTH; i++) {
@@ -91,20 +100,37 @@ public class SLF4JBridgeHandlerPerfTest {
         return (end - start) * 1.0 / RUN_LENGTH;
     }
 
-    @Test
-    public void testPerf() {
-        SLF4JBridgeHandler.install();
-
-        if (disabledLogger) {
-            log4jRoot.setLevel(org.apache.log4j.Level.ERROR);
-        }
+    void measure(String label) {
         julLoggerLoop();
         double julAvg = julLoggerLoop();
-        System.out.println("Average cost per call (JUL->SLF4J->log4j): " + julAvg + " nanos");
+        System.out.println(label + " Average cost per call (JUL->SLF4J->log4j): " + julAvg + " nanos");
+
+        julLoggerWithParametersLoop();
+        double julWithParametersAvg = julLoggerWithParametersLoop();
+        System.out.println(label + " Average cost per call with parameters (JUL->SLF4J->log4j): " + julWithParametersAvg + " nanos");
 
         slf4jLoggerLoop();
         double slf4jAvg = slf4jLoggerLoop();
-        System.out.println("Average cost per call (SLF4J->log4j): " + slf4jAvg + " nanos");
-        System.out.println("Ratio " + (julAvg / slf4jAvg));
+        System.out.println(label + " Average cost per call (SLF4J->log4j): " + slf4jAvg + " nanos");
+        System.out.println(label + " Ratio " + (julAvg / slf4jAvg));
+        System.out.println(label + " Ratio with parameters " + (julWithParametersAvg / slf4jAvg));
+    }
+
+    @Ignore
+    @Test
+    public void testPerf() {
+        SLF4JBridgeHandler.install();
+        // disabled in log4j, the records are discarded before any formatting
+        log4jRoot.setLevel(org.apache.log4j.Level.ERROR);
+        measure("[disabled]");
+    }
+
+    @Ignore
+    @Test
+    public void testPerfEnabled() {
+        SLF4JBridgeHandler.install();
+        // loggers and message formats are looked up in the handler's caches
+        log4jRoot.setLevel(org.apache.log4j.Level.INFO);
+        measure("[enabled]");
     }
 }
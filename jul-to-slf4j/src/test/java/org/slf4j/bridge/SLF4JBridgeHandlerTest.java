@@ -201,6 +201,33 @@ public class SLF4JBridgeHandlerTest {
         assertEquals("", le.getMessage());
     }
     
+    @Test
+    public void disabledRecordsAreNotFormatted() {
+        SLF4JBridgeHandler.install();
+        log4jRoot.setLevel(org.apache.log4j.Level.WARN);
+        Object parameter = new Object() {
+            @Override
+            public String toString() {
+                throw new AssertionError("disabled record was formatted");
+            }
+        };
+        julLogger.setLevel(Level.ALL);
+        // below the level of the console handler, which would format it
+        julLogger.log(Level.FINE, "{0}", parameter);
+        assertEquals(0, listAppender.list.size());
+    }
+
+    @Test
+    public void cachedMessageFormatsAreReused() {
+        SLF4JBridgeHandler.install();
+        for (int i = 0; i < 3; i++) {
+            julLogger.log(Level.INFO, "value {0}", Integer.valueOf(i));
+        }
+        assertEquals(3, listAppender.list.size());
+        assertEquals("value 0", ((LoggingEvent) listAppender.list.get(0)).getMessage());
+        assertEquals("value 2", ((LoggingEvent) listAppender.list.get(2)).getMessage());
+    }
+
     void assertLevel(int index, org.apache.log4j.Level expectedLevel) {
         LoggingEvent le = (LoggingEvent) listAppender.list.get(index);
         assertEquals(expectedLevel, le.getLevel());
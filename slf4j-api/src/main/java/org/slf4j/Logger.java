@@ -99,7 +99,7 @@ public interface Logger {
      * @since 2.0
      */
     default public LoggingEventBuilder makeLoggingEventBuilder(Level level) {
-    	return new DefaultLoggingEventBuilder(this, level);
+    	return DefaultLoggingEventBuilder.newBuilder(this, level);
     }
 
     /**
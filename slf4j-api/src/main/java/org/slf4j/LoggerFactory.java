@@ -25,18 +25,27 @@
 package org.slf4j;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
+import java.net.URLConnection;
+import java.security.CodeSource;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Enumeration;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Queue;
 import java.util.ServiceLoader;
 import java.util.Set;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.jar.Manifest;
 
 import org.slf4j.event.SubstituteLoggingEvent;
 import org.slf4j.helpers.NOPServiceProvider;
+import org.slf4j.helpers.SubstituteEventQueue;
+import org.slf4j.helpers.SubstituteLoggerFactory;
 import org.slf4j.helpers.SubstituteServiceProvider;
 import org.slf4j.helpers.SubstituteLogger;
 
@@ -53,6 +62,14 @@ import org.slf4j.spi.SLF4JServiceProvider;
  * {@link ILoggerFactory} instance bound with <code>LoggerFactory</code> at
  * compile time.
  * 
+ * <p>The provider is normally located with {@link ServiceLoader}, which
+ * instantiates every provider present on the class path. Alternatively, the
+ * class name of the provider can be given by the
+ * {@value #PROVIDER_PROPERTY_KEY} system property or, failing that, by the
+ * {@value #PROVIDER_MANIFEST_ATTRIBUTE} attribute of the manifest of the jar
+ * file containing slf4j-api, typically a fat jar. The provider is then loaded
+ * directly, without any class path scanning.
+ * 
  * <p>
  * Please note that all methods in <code>LoggerFactory</code> are static.
  * 
@@ -96,8 +113,68 @@ public final class LoggerFactory {
 
     static boolean DETECT_LOGGER_NAME_MISMATCH = Util.safeGetBooleanSystemProperty(DETECT_LOGGER_NAME_MISMATCH_PROPERTY);
 
+    /**
+     * System property naming the {@link SLF4JServiceProvider} class to use.
+     */
+    public static final String PROVIDER_PROPERTY_KEY = "slf4j.provider";
+
+    /**
+     * Manifest attribute naming the {@link SLF4JServiceProvider} class to use,
+     * read from the jar file containing slf4j-api, typically a fat jar. The
+     * manifest of the slf4j-api jar as distributed is not read.
+     */
+    public static final String PROVIDER_MANIFEST_ATTRIBUTE = "SLF4J-Provider";
+
+    // the Implementation-Title of the slf4j-api jar as distributed
+    static final String SLF4J_API_IMPLEMENTATION_TITLE = "slf4j-api";
+
+    /**
+     * Setting this system property to <code>false</code> skips scanning the
+     * class path for bindings targeting slf4j-api versions prior to 1.8 when
+     * no provider is found.
+     */
+    public static final String LEGACY_BINDING_SCAN_PROPERTY = "slf4j.legacyBindingScan";
+
     static volatile SLF4JServiceProvider PROVIDER;
 
+    // ClassValue is missing on older Android versions. The caches below are
+    // then null, and must not be loaded at all as they extend ClassValue.
+    static final boolean CLASS_VALUE_AVAILABLE = isClassValueAvailable();
+
+    static volatile LoggerCache LOGGER_CACHE = newLoggerCache();
+    static volatile MismatchCheckedCache MISMATCH_CHECKED = newMismatchCheckedCache();
+
+    private static boolean isClassValueAvailable() {
+        try {
+            Class.forName("java.lang.ClassValue");
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    static LoggerCache newLoggerCache() {
+        if (!CLASS_VALUE_AVAILABLE) {
+            return null;
+        }
+        try {
+            return new LoggerCache();
+        } catch (LinkageError e) {
+            return null;
+        }
+    }
+
+    static MismatchCheckedCache newMismatchCheckedCache() {
+        if (!CLASS_VALUE_AVAILABLE) {
+            return null;
+        }
+        try {
+            return new MismatchCheckedCache();
+        } catch (LinkageError e) {
+            return null;
+        }
+    }
+
     private static List<SLF4JServiceProvider> findServiceProviders() {
         ServiceLoader<SLF4JServiceProvider> serviceLoader = ServiceLoader.load(SLF4JServiceProvider.class);
         List<SLF4JServiceProvider> providerList = new ArrayList<SLF4JServiceProvider>();
@@ -133,6 +210,9 @@ public final class LoggerFactory {
      */
     static void reset() {
         INITIALIZATION_STATE = UNINITIALIZED;
+        // loggers obtained from the previous provider are forgotten
+        LOGGER_CACHE = newLoggerCache();
+        MISMATCH_CHECKED = newMismatchCheckedCache();
     }
 
     private final static void performInitialization() {
@@ -144,8 +224,14 @@ public final class LoggerFactory {
 
     private final static void bind() {
         try {
-            List<SLF4JServiceProvider> providersList = findServiceProviders();
-            reportMultipleBindingAmbiguity(providersList);
+            List<SLF4JServiceProvider> providersList;
+            SLF4JServiceProvider explicitProvider = loadExplicitlySpecified(LoggerFactory.class.getClassLoader());
+            if (explicitProvider != null) {
+                providersList = Collections.singletonList(explicitProvider);
+            } else {
+                providersList = findServiceProviders();
+                reportMultipleBindingAmbiguity(providersList);
+            }
             if (providersList != null && !providersList.isEmpty()) {
             	PROVIDER = providersList.get(0);
             	// SLF4JServiceProvider.initialize() is intended to be called here and nowhere else.
@@ -158,8 +244,10 @@ public final class LoggerFactory {
                 Util.report("Defaulting to no-operation (NOP) logger implementation");
                 Util.report("See " + NO_PROVIDERS_URL + " for further details.");
 
-                Set<URL> staticLoggerBinderPathSet = findPossibleStaticLoggerBinderPathSet();
-                reportIgnoredStaticLoggerBinders(staticLoggerBinderPathSet);
+                if (isLegacyBindingScanEnabled()) {
+                    Set<URL> staticLoggerBinderPathSet = findPossibleStaticLoggerBinderPathSet();
+                    reportIgnoredStaticLoggerBinders(staticLoggerBinderPathSet);
+                }
             }
             postBindCleanUp();
         } catch (Exception e) {
@@ -168,6 +256,81 @@ public final class LoggerFactory {
         }
     }
 
+    /**
+     * Instantiate the provider named by the {@value #PROVIDER_PROPERTY_KEY}
+     * system property or the {@value #PROVIDER_MANIFEST_ATTRIBUTE} manifest
+     * attribute, if any.
+     * 
+     * @return null if no provider is named or if the named provider cannot be
+     *         instantiated
+     */
+    static SLF4JServiceProvider loadExplicitlySpecified(ClassLoader classLoader) {
+        String source = PROVIDER_PROPERTY_KEY + " system property";
+        String className = Util.safeGetSystemProperty(PROVIDER_PROPERTY_KEY);
+        if (className == null) {
+            source = PROVIDER_MANIFEST_ATTRIBUTE + " manifest attribute";
+            className = readProviderManifestAttribute();
+        }
+        if (className == null || className.trim().isEmpty()) {
+            return null;
+        }
+        className = className.trim();
+        try {
+            Class<?> providerClass = classLoader == null ? Class.forName(className) : classLoader.loadClass(className);
+            Object provider = providerClass.getConstructor().newInstance();
+            if (provider instanceof SLF4JServiceProvider) {
+                return (SLF4JServiceProvider) provider;
+            }
+            Util.report("Class [" + className + "] named by the " + source + " is not an SLF4JServiceProvider.");
+        } catch (Exception e) {
+            Util.report("Failed to instantiate provider [" + className + "] named by the " + source, e);
+        } catch (LinkageError e) {
+            Util.report("Failed to instantiate provider [" + className + "] named by the " + source, e);
+        }
+        Util.report("Looking for providers on the class path instead.");
+        return null;
+    }
+
+    /**
+     * Read the {@value #PROVIDER_MANIFEST_ATTRIBUTE} attribute of the manifest
+     * of the jar file LoggerFactory was loaded from. Other jar files are not
+     * looked at.
+     */
+    private static String readProviderManifestAttribute() {
+        Package slf4jPackage = LoggerFactory.class.getPackage();
+        if (slf4jPackage != null && SLF4J_API_IMPLEMENTATION_TITLE.equals(slf4jPackage.getImplementationTitle())) {
+            // the class loader already read the manifest, that of the
+            // slf4j-api jar as distributed, which carries no such attribute
+            return null;
+        }
+        try {
+            CodeSource codeSource = LoggerFactory.class.getProtectionDomain().getCodeSource();
+            if (codeSource == null || codeSource.getLocation() == null) {
+                return null;
+            }
+            String location = codeSource.getLocation().toString();
+            if (!location.endsWith(".jar")) {
+                // e.g. a classes directory, or a nested jar addressed differently
+                return null;
+            }
+            URLConnection connection = new URL("jar:" + location + "!/META-INF/MANIFEST.MF").openConnection();
+            // do not keep the jar file open
+            connection.setUseCaches(false);
+            try (InputStream in = connection.getInputStream()) {
+                return new Manifest(in).getMainAttributes().getValue(PROVIDER_MANIFEST_ATTRIBUTE);
+            }
+        } catch (IOException e) {
+            // no manifest
+            return null;
+        } catch (SecurityException e) {
+            return null;
+        }
+    }
+
+    private static boolean isLegacyBindingScanEnabled() {
+        return !"false".equalsIgnoreCase(Util.safeGetSystemProperty(LEGACY_BINDING_SCAN_PROPERTY));
+    }
+
     private static void reportIgnoredStaticLoggerBinders(Set<URL> staticLoggerBinderPathSet) {
         if (staticLoggerBinderPathSet.isEmpty()) {
             return;
@@ -232,13 +395,13 @@ public final class LoggerFactory {
     }
 
     private static void replayEvents() {
-        final LinkedBlockingQueue<SubstituteLoggingEvent> queue = SUBST_PROVIDER.getSubstituteLoggerFactory().getEventQueue();
+        final Queue<SubstituteLoggingEvent> queue = SUBST_PROVIDER.getSubstituteLoggerFactory().getRecordingQueue();
         final int queueSize = queue.size();
         int count = 0;
-        final int maxDrain = 128;
-        List<SubstituteLoggingEvent> eventList = new ArrayList<SubstituteLoggingEvent>(maxDrain);
+        final int maxDrain = 1024;
+        List<SubstituteLoggingEvent> eventList = new ArrayList<SubstituteLoggingEvent>(Math.min(maxDrain, queueSize + 1));
         while (true) {
-            int numDrained = queue.drainTo(eventList, maxDrain);
+            int numDrained = drain(queue, eventList, maxDrain);
             if (numDrained == 0)
                 break;
             for (SubstituteLoggingEvent event : eventList) {
@@ -248,6 +411,36 @@ public final class LoggerFactory {
             }
             eventList.clear();
         }
+        if (queue instanceof SubstituteEventQueue) {
+            SubstituteEventQueue boundedQueue = (SubstituteEventQueue) queue;
+            long droppedCount = boundedQueue.getDroppedCount();
+            if (droppedCount > 0) {
+                emitDroppedEventsWarning(droppedCount, boundedQueue);
+            }
+        }
+    }
+
+    private static int drain(Queue<SubstituteLoggingEvent> queue, List<SubstituteLoggingEvent> eventList, int maxDrain) {
+        if (queue instanceof SubstituteEventQueue) {
+            return ((SubstituteEventQueue) queue).drainTo(eventList, maxDrain);
+        }
+        if (queue instanceof BlockingQueue) {
+            return ((BlockingQueue<SubstituteLoggingEvent>) queue).drainTo(eventList, maxDrain);
+        }
+        int count = 0;
+        SubstituteLoggingEvent event;
+        while (count < maxDrain && (event = queue.poll()) != null) {
+            eventList.add(event);
+            count++;
+        }
+        return count;
+    }
+
+    private static void emitDroppedEventsWarning(long droppedCount, SubstituteEventQueue queue) {
+        Util.report("A number (" + droppedCount + ") of logging calls during the initialization phase were dropped as more than "
+                        + queue.getCapacity() + " were made.");
+        Util.report("The overflow policy was " + queue.getOverflowPolicy() + ". See the " + SubstituteLoggerFactory.REPLAY_CAPACITY_PROPERTY + " and "
+                        + SubstituteLoggerFactory.REPLAY_OVERFLOW_POLICY_PROPERTY + " system properties.");
     }
 
     private static void emitReplayOrSubstituionWarning(SubstituteLoggingEvent event, int queueSize) {
@@ -368,8 +561,16 @@ public final class LoggerFactory {
      * will be printed but only if the
      * <code>slf4j.detectLoggerNameMismatch</code> system property is set to
      * true. By default, this property is not set and no warnings will be
-     * printed even in case of a logger name mismatch.
-     * 
+     * printed even in case of a logger name mismatch. The check is performed
+     * only on the first call for a given class.
+     *
+     * <p>
+     * Once initialization is over, the logger is cached with the class, so
+     * that subsequent calls for the same class return it directly. Should the
+     * {@link ILoggerFactory} discard its loggers, this method keeps returning
+     * the previous instance until {@link LoggerFactoryFriend#clearLoggerCache()}
+     * is called, whereas {@link #getLogger(String)} returns a new one.
+     *
      * @param clazz
      *            the returned logger will be named after clazz
      * @return logger
@@ -380,8 +581,14 @@ public final class LoggerFactory {
      *      logger name mismatch</a>
      */
     public static Logger getLogger(Class<?> clazz) {
-        Logger logger = getLogger(clazz.getName());
-        if (DETECT_LOGGER_NAME_MISMATCH) {
+        LoggerCache loggerCache = LOGGER_CACHE;
+        Logger logger;
+        if (loggerCache != null && isInitialized()) {
+            logger = loggerCache.get(clazz);
+        } else {
+            logger = getLogger(clazz.getName());
+        }
+        if (DETECT_LOGGER_NAME_MISMATCH && isFirstMismatchCheck(clazz)) {
             Class<?> autoComputedCallingClass = Util.getCallingClass();
             if (autoComputedCallingClass != null && nonMatchingClasses(clazz, autoComputedCallingClass)) {
                 Util.report(String.format("Detected logger name mismatch. Given name: \"%s\"; computed name: \"%s\".", logger.getName(),
@@ -396,6 +603,44 @@ public final class LoggerFactory {
         return !autoComputedCallingClass.isAssignableFrom(clazz);
     }
 
+    private static boolean isInitialized() {
+        int state = INITIALIZATION_STATE;
+        return state == SUCCESSFUL_INITIALIZATION || state == NOP_FALLBACK_INITIALIZATION;
+    }
+
+    private static boolean isFirstMismatchCheck(Class<?> clazz) {
+        MismatchCheckedCache mismatchChecked = MISMATCH_CHECKED;
+        if (mismatchChecked == null) {
+            return true;
+        }
+        return mismatchChecked.get(clazz).compareAndSet(false, true);
+    }
+
+    /**
+     * The loggers returned by {@link LoggerFactory#getLogger(Class)}, attached
+     * to their class. Only consulted once initialization is over, so that no
+     * substitute logger is ever cached.
+     */
+    static class LoggerCache extends ClassValue<Logger> {
+
+        @Override
+        protected Logger computeValue(Class<?> clazz) {
+            return getLogger(clazz.getName());
+        }
+    }
+
+    /**
+     * Whether the name of the logger of each class has been checked against
+     * the calling class, see {@link LoggerFactory#getLogger(Class)}.
+     */
+    static class MismatchCheckedCache extends ClassValue<AtomicBoolean> {
+
+        @Override
+        protected AtomicBoolean computeValue(Class<?> clazz) {
+            return new AtomicBoolean();
+        }
+    }
+
     /**
      * Return the {@link ILoggerFactory} instance in use.
      * <p>
@@ -21,11 +21,21 @@ public class LoggerFactoryFriend {
     }
 
     /**
-     * Set LoggerFactory.DETECT_LOGGER_NAME_MISMATCH variable.
+     * Set LoggerFactory.DETECT_LOGGER_NAME_MISMATCH variable, forgetting
+     * the classes already checked.
      * 
      * @param enabled a boolean
      */
     public static void setDetectLoggerNameMismatch(boolean enabled) {
         LoggerFactory.DETECT_LOGGER_NAME_MISMATCH = enabled;
+        LoggerFactory.MISMATCH_CHECKED = LoggerFactory.newMismatchCheckedCache();
+    }
+
+    /**
+     * Forget the loggers cached by {@link LoggerFactory#getLogger(Class)}, to
+     * be called by providers discarding the loggers they created.
+     */
+    public static void clearLoggerCache() {
+        LoggerFactory.LOGGER_CACHE = LoggerFactory.newLoggerCache();
     }
 }
@@ -1,8 +1,10 @@
 package org.slf4j.event;
 
-import java.util.ArrayList;
+import java.util.AbstractList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 import org.slf4j.Marker;
@@ -20,73 +22,473 @@ public class DefaultLoggingEvent implements LoggingEvent {
 	Level level;
 
 	String message;
-	List<Marker> markers;
-	List<Object> arguments;
-	List<KeyValuePair> keyValuePairs;
+
+	// markers, arguments and key-value pairs are kept in arrays of which only
+	// the first 'xxxCount' slots are in use, allocated on first use
+	Marker[] markers;
+	int markerCount;
+	Object[] arguments;
+	int argumentCount;
+	KeyValuePair[] keyValuePairs;
+	int keyValuePairCount;
+
+	// raw bits of primitive arguments and key-value pairs, indexed as
+	// 'arguments' and 'keyValuePairs' respectively, allocated on first use
+	long[] primitiveArguments;
+	long[] primitiveKeyValues;
+
+	// true if some arguments, respectively values, are DeferredValue instances
+	boolean deferredArguments;
+	boolean deferredKeyValues;
+
+	// storage for primitive values kept across clear() invocations
+	long[] sparePrimitiveArguments;
+	long[] sparePrimitiveKeyValues;
+
+	// true if the corresponding array was handed out, directly or through a
+	// view, in which case clear() drops it instead of wiping it
+	boolean markersShared;
+	boolean argumentsShared;
+	boolean keyValuePairsShared;
+	boolean primitiveArgumentsShared;
 
 	Throwable throwable;
 	String threadName;
 	long timeStamp;
-	
+
+	// true if this event is reused by a recycling builder once logged
+	boolean recycled;
 
 	public DefaultLoggingEvent(Level level, Logger logger) {
 		this.logger = logger;
 		this.level = level;
 	}
 
+	/**
+	 * Create a copy of the event passed as parameter, independent of any
+	 * subsequent change made to the original.
+	 */
+	public DefaultLoggingEvent(DefaultLoggingEvent other) {
+		this.logger = other.logger;
+		this.level = other.level;
+		this.message = other.message;
+		if (other.markerCount > 0) {
+			this.markers = Arrays.copyOf(other.markers, other.markerCount);
+			this.markerCount = other.markerCount;
+		}
+		if (other.argumentCount > 0) {
+			this.arguments = Arrays.copyOf(other.arguments, other.argumentCount);
+			this.argumentCount = other.argumentCount;
+			this.deferredArguments = other.deferredArguments;
+			if (other.primitiveArguments != null) {
+				this.primitiveArguments = other.primitiveArguments.clone();
+			}
+		}
+		if (other.keyValuePairCount > 0) {
+			this.keyValuePairs = Arrays.copyOf(other.keyValuePairs, other.keyValuePairCount);
+			this.keyValuePairCount = other.keyValuePairCount;
+			this.deferredKeyValues = other.deferredKeyValues;
+			if (other.primitiveKeyValues != null) {
+				this.primitiveKeyValues = other.primitiveKeyValues.clone();
+			}
+		}
+		this.throwable = other.throwable;
+		this.threadName = other.threadName;
+		this.timeStamp = other.timeStamp;
+	}
+
+	/**
+	 * Return an event which remains valid after the current logging call
+	 * returns.
+	 *
+	 * <p>When recycling is enabled (see
+	 * {@link org.slf4j.spi.DefaultLoggingEventBuilder#RECYCLE_PROPERTY}), the
+	 * event passed to {@link LoggingEventAware#log(LoggingEvent)} is reused
+	 * once that method returns. A consumer which keeps a reference to the
+	 * event, for example to process it asynchronously, must keep the value
+	 * returned by this method instead. Events which are not recycled are
+	 * returned as is.
+	 *
+	 * @param event the event passed to a {@link LoggingEventAware} consumer
+	 * @return an event safe to retain
+	 */
+	public static LoggingEvent retain(LoggingEvent event) {
+		if (event instanceof DefaultLoggingEvent) {
+			DefaultLoggingEvent dle = (DefaultLoggingEvent) event;
+			if (dle.recycled) {
+				return new DefaultLoggingEvent(dle);
+			}
+		}
+		return event;
+	}
+
+	/**
+	 * Is this event reused once the logging call which carries it returns?
+	 */
+	public boolean isRecycled() {
+		return recycled;
+	}
+
+	public void setRecycled(boolean recycled) {
+		this.recycled = recycled;
+	}
+
+	/**
+	 * Drop all the data carried by this event, keeping the allocated storage
+	 * for reuse unless it was handed out by a getter, in which case it is left
+	 * untouched for the consumer which may still hold it. The level and the
+	 * logger must be set anew before the event is logged again.
+	 */
+	public void clear() {
+		logger = null;
+		level = null;
+		message = null;
+		if (markersShared) {
+			markers = null;
+			markersShared = false;
+		} else if (markerCount > 0) {
+			Arrays.fill(markers, 0, markerCount, null);
+		}
+		markerCount = 0;
+		if (argumentsShared) {
+			arguments = null;
+			argumentsShared = false;
+		} else if (argumentCount > 0) {
+			Arrays.fill(arguments, 0, argumentCount, null);
+		}
+		argumentCount = 0;
+		if (keyValuePairsShared) {
+			keyValuePairs = null;
+			keyValuePairsShared = false;
+		} else if (keyValuePairCount > 0) {
+			Arrays.fill(keyValuePairs, 0, keyValuePairCount, null);
+		}
+		keyValuePairCount = 0;
+		deferredArguments = false;
+		deferredKeyValues = false;
+		if (primitiveArguments != null) {
+			if (!primitiveArgumentsShared) {
+				sparePrimitiveArguments = primitiveArguments;
+			}
+			primitiveArguments = null;
+		}
+		primitiveArgumentsShared = false;
+		if (primitiveKeyValues != null) {
+			sparePrimitiveKeyValues = primitiveKeyValues;
+			primitiveKeyValues = null;
+		}
+		throwable = null;
+		threadName = null;
+		timeStamp = 0;
+	}
+
+	public void setLevel(Level level) {
+		this.level = level;
+	}
+
+	public void setLogger(Logger logger) {
+		this.logger = logger;
+	}
+
 	public void addMarker(Marker marker) {
-    	if(markers == null) {
-			markers = new ArrayList<>(2);
+		if (markers == null) {
+			markers = new Marker[2];
+		} else if (markerCount == markers.length) {
+			markers = Arrays.copyOf(markers, markerCount * 2);
 		}
-		markers.add(marker);
+		markers[markerCount++] = marker;
 	}
 
+	/**
+	 * Return a read-only view of the markers of this event, or null if there
+	 * are none.
+	 */
 	@Override
 	public List<Marker> getMarkers() {
-		return markers;
+		if (markerCount == 0) {
+			return null;
+		}
+		markersShared = true;
+		return new ArrayView<>(markers, markerCount);
 	}
 
 	public void addArgument(Object p) {
-		getNonNullArguments().add(p);
+		ensureArgumentCapacity(argumentCount + 1);
+		arguments[argumentCount++] = p;
+	}
+
+	public void addArgument(int i) {
+		addPrimitiveArgument(PrimitiveType.INT, i);
+	}
+
+	public void addArgument(long l) {
+		addPrimitiveArgument(PrimitiveType.LONG, l);
+	}
+
+	public void addArgument(float f) {
+		addPrimitiveArgument(PrimitiveType.FLOAT, PrimitiveType.toBits(f));
+	}
+
+	public void addArgument(double d) {
+		addPrimitiveArgument(PrimitiveType.DOUBLE, PrimitiveType.toBits(d));
+	}
+
+	public void addArgument(char c) {
+		addPrimitiveArgument(PrimitiveType.CHAR, c);
+	}
+
+	private void addPrimitiveArgument(PrimitiveType type, long bits) {
+		int index = argumentCount;
+		addArgument(type.placeholder());
+		if (primitiveArguments == null) {
+			primitiveArguments = sparePrimitiveArguments;
+		}
+		primitiveArguments = ensureCapacity(primitiveArguments, index + 1);
+		primitiveArguments[index] = bits;
+	}
+
+	/**
+	 * Add an argument whose value is computed by the supplier passed as
+	 * parameter when first requested.
+	 */
+	public void addDeferredArgument(Supplier<?> supplier) {
+		addArgument(new DeferredValue(supplier));
+		deferredArguments = true;
 	}
 
 	public void addArguments(Object... args) {
-		getNonNullArguments().addAll(Arrays.asList(args));
+		ensureArgumentCapacity(argumentCount + args.length);
+		System.arraycopy(args, 0, arguments, argumentCount, args.length);
+		argumentCount += args.length;
 	}
 
-	private List<Object> getNonNullArguments() {
+	/**
+	 * Grow the argument array so that it can hold 'minCapacity' arguments. The
+	 * array is allocated with the exact capacity requested if none existed
+	 * before, so that {@link #getArgumentArray()} can usually return it as is.
+	 */
+	private void ensureArgumentCapacity(int minCapacity) {
 		if (arguments == null) {
-			arguments = new ArrayList<>(3);
+			arguments = new Object[Math.max(minCapacity, 1)];
+		} else if (arguments.length < minCapacity) {
+			arguments = Arrays.copyOf(arguments, Math.max(minCapacity, arguments.length * 2));
 		}
-		return arguments;
 	}
 
+	/**
+	 * Return a read-only view of the arguments of this event, or null if there
+	 * are none. Primitive arguments are boxed.
+	 */
 	@Override
 	public List<Object> getArguments() {
-		return arguments;
+		if (argumentCount == 0) {
+			return null;
+		}
+		resolveDeferredArguments();
+		if (primitiveArguments == null) {
+			argumentsShared = true;
+			return new ArrayView<>(arguments, argumentCount);
+		}
+		Object[] boxed = getArgumentArray();
+		return new ArrayView<>(boxed, boxed.length);
 	}
 
+	/**
+	 * Return the arguments of this event. Primitive arguments are boxed. See
+	 * also {@link #getRawArgumentArray()}.
+	 *
+	 * <p>In the absence of primitive arguments, the returned array is the one
+	 * backing this event. It must not be modified. It is not reused after
+	 * {@link #clear()}.
+	 */
 	@Override
 	public Object[] getArgumentArray() {
-		if (arguments == null)
+		if (argumentCount == 0)
 			return null;
-		return arguments.toArray();
+		if (primitiveArguments == null) {
+			return getRawArgumentArray();
+		}
+		resolveDeferredArguments();
+		return PrimitiveType.boxedCopy(Arrays.copyOf(arguments, argumentCount), primitiveArguments);
+	}
+
+	/**
+	 * Return the arguments of this event where each primitive argument is
+	 * represented by a placeholder, see {@link PrimitiveType#ofPlaceholder},
+	 * its value being available in the same slot of
+	 * {@link #getPrimitiveArguments()}.
+	 *
+	 * <p>The returned array is the one backing this event. It must not be
+	 * modified. It is not reused after {@link #clear()}.
+	 */
+	public Object[] getRawArgumentArray() {
+		if (argumentCount == 0)
+			return null;
+		resolveDeferredArguments();
+		if (arguments.length != argumentCount) {
+			// trim once, subsequent additions will grow the array anew
+			arguments = Arrays.copyOf(arguments, argumentCount);
+		}
+		argumentsShared = true;
+		return arguments;
+	}
+
+	/**
+	 * Return the raw bits of primitive arguments, indexed as the array returned
+	 * by {@link #getRawArgumentArray()}, or null if no primitive argument was
+	 * added to this event.
+	 */
+	public long[] getPrimitiveArguments() {
+		if (primitiveArguments != null) {
+			primitiveArgumentsShared = true;
+		}
+		return primitiveArguments;
 	}
 
 	public void addKeyValue(String key, Object value) {
-		getNonnullKeyValuePairs().add(new KeyValuePair(key, value));
+		addKeyValuePair(new KeyValuePair(key, value));
+	}
+
+	public void addKeyValue(String key, int i) {
+		addPrimitiveKeyValue(key, PrimitiveType.INT, i);
+	}
+
+	public void addKeyValue(String key, long l) {
+		addPrimitiveKeyValue(key, PrimitiveType.LONG, l);
 	}
 
-	private List<KeyValuePair> getNonnullKeyValuePairs() {
+	public void addKeyValue(String key, float f) {
+		addPrimitiveKeyValue(key, PrimitiveType.FLOAT, PrimitiveType.toBits(f));
+	}
+
+	public void addKeyValue(String key, double d) {
+		addPrimitiveKeyValue(key, PrimitiveType.DOUBLE, PrimitiveType.toBits(d));
+	}
+
+	public void addKeyValue(String key, char c) {
+		addPrimitiveKeyValue(key, PrimitiveType.CHAR, c);
+	}
+
+	/**
+	 * Add a key-value pair whose value is computed by the supplier passed as
+	 * parameter when first requested.
+	 */
+	public void addDeferredKeyValue(String key, Supplier<?> supplier) {
+		addKeyValuePair(new KeyValuePair(key, new DeferredValue(supplier)));
+		deferredKeyValues = true;
+	}
+
+	private void addPrimitiveKeyValue(String key, PrimitiveType type, long bits) {
+		int index = keyValuePairCount;
+		addKeyValuePair(new KeyValuePair(key, type.placeholder()));
+		if (primitiveKeyValues == null) {
+			primitiveKeyValues = sparePrimitiveKeyValues;
+		}
+		primitiveKeyValues = ensureCapacity(primitiveKeyValues, index + 1);
+		primitiveKeyValues[index] = bits;
+	}
+
+	private void addKeyValuePair(KeyValuePair kvp) {
 		if (keyValuePairs == null) {
-			keyValuePairs = new ArrayList<>(4);
+			keyValuePairs = new KeyValuePair[4];
+		} else if (keyValuePairCount == keyValuePairs.length) {
+			keyValuePairs = Arrays.copyOf(keyValuePairs, keyValuePairCount * 2);
 		}
-		return keyValuePairs;
+		keyValuePairs[keyValuePairCount++] = kvp;
 	}
 
+	/**
+	 * Return a read-only view of the key-value pairs of this event, or null if
+	 * there are none. Primitive values are boxed.
+	 */
 	@Override
 	public List<KeyValuePair> getKeyValuePairs() {
-		return keyValuePairs;
+		if (keyValuePairCount == 0) {
+			return null;
+		}
+		resolveDeferredKeyValues();
+		if (primitiveKeyValues == null) {
+			keyValuePairsShared = true;
+			return new ArrayView<>(keyValuePairs, keyValuePairCount);
+		}
+		KeyValuePair[] boxed = new KeyValuePair[keyValuePairCount];
+		for (int i = 0; i < keyValuePairCount; i++) {
+			KeyValuePair kvp = keyValuePairs[i];
+			PrimitiveType type = PrimitiveType.ofPlaceholder(kvp.value);
+			if (type != null && i < primitiveKeyValues.length) {
+				kvp = new KeyValuePair(kvp.key, type.box(primitiveKeyValues[i]));
+			}
+			boxed[i] = kvp;
+		}
+		return new ArrayView<>(boxed, keyValuePairCount);
+	}
+
+	@Override
+	public void resolveDeferredValues() {
+		resolveDeferredArguments();
+		resolveDeferredKeyValues();
+	}
+
+	private void resolveDeferredArguments() {
+		if (!deferredArguments) {
+			return;
+		}
+		for (int i = 0; i < argumentCount; i++) {
+			arguments[i] = DeferredValue.resolve(arguments[i]);
+		}
+		deferredArguments = false;
+	}
+
+	private void resolveDeferredKeyValues() {
+		if (!deferredKeyValues) {
+			return;
+		}
+		for (int i = 0; i < keyValuePairCount; i++) {
+			KeyValuePair kvp = keyValuePairs[i];
+			if (kvp.value instanceof DeferredValue) {
+				keyValuePairs[i] = new KeyValuePair(kvp.key, ((DeferredValue) kvp.value).get());
+			}
+		}
+		deferredKeyValues = false;
+	}
+
+	private static long[] ensureCapacity(long[] a, int minCapacity) {
+		if (a == null) {
+			return new long[Math.max(minCapacity, 4)];
+		}
+		if (a.length >= minCapacity) {
+			return a;
+		}
+		long[] grown = new long[Math.max(minCapacity, a.length * 2)];
+		System.arraycopy(a, 0, grown, 0, a.length);
+		return grown;
+	}
+
+	/**
+	 * A read-only list over the first 'size' elements of an array.
+	 */
+	static final class ArrayView<E> extends AbstractList<E> implements RandomAccess {
+
+		private final E[] array;
+		private final int size;
+
+		ArrayView(E[] array, int size) {
+			this.array = array;
+			this.size = size;
+		}
+
+		@Override
+		public E get(int index) {
+			if (index < 0 || index >= size) {
+				throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+			}
+			return array[index];
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
 	}
 
 	public void setThrowable(Throwable cause) {
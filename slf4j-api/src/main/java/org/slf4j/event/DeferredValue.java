@@ -0,0 +1,39 @@
+package org.slf4j.event;
+
+import java.util.function.Supplier;
+
+/**
+ * A value supplied lazily to a {@link DefaultLoggingEvent}. The supplier is
+ * invoked at most once, the first time the value is requested.
+ *
+ * <p>Instances are not thread-safe. The value should be requested by the
+ * thread which logs the event or by a single consumer thread.
+ *
+ * @author Ceki G&uuml;lc&uuml;
+ * @since 2.0.0
+ */
+final class DeferredValue {
+
+	private Supplier<?> supplier;
+	private Object value;
+
+	DeferredValue(Supplier<?> supplier) {
+		this.supplier = supplier;
+	}
+
+	Object get() {
+		Supplier<?> s = supplier;
+		if (s != null) {
+			value = s.get();
+			supplier = null;
+		}
+		return value;
+	}
+
+	static Object resolve(Object o) {
+		if (o instanceof DeferredValue) {
+			return ((DeferredValue) o).get();
+		}
+		return o;
+	}
+}
@@ -16,12 +16,44 @@ public interface LoggingEvent {
     Level getLevel();
     String getLoggerName();
     String getMessage();
+
+    /**
+     * Return the arguments of this event. Arguments supplied lazily, e.g. via
+     * {@link org.slf4j.spi.LoggingEventBuilder#addArgument(java.util.function.Supplier)},
+     * are evaluated on first access.
+     */
     List<Object> getArguments();
+
+    /**
+     * Return the arguments of this event as an array. Arguments supplied lazily
+     * are evaluated on first access.
+     */
     Object[] getArgumentArray();
     
     List<Marker> getMarkers();
+
+    /**
+     * Return the key-value pairs of this event. Values supplied lazily, e.g.
+     * via {@link org.slf4j.spi.LoggingEventBuilder#addKeyValue(String, java.util.function.Supplier)},
+     * are evaluated on first access.
+     */
     List<KeyValuePair> getKeyValuePairs();
     Throwable getThrowable();
     long getTimeStamp();
     String getThreadName();
+
+    /**
+     * Evaluate the arguments and key-value pairs of this event which were
+     * supplied lazily, if any. Each supplier is invoked at most once, whether
+     * by this method or by the first access to the value it supplies.
+     *
+     * <p>A binding which hands the event over to another thread may invoke
+     * this method beforehand so that suppliers run on the logging thread.
+     * Bindings which discard the event, e.g. after filtering it, need not
+     * invoke it at all, in which case the suppliers are never invoked.
+     *
+     * @since 2.0.0
+     */
+    default void resolveDeferredValues() {
+    }
 }
@@ -0,0 +1,140 @@
+package org.slf4j.event;
+
+/**
+ * The primitive types which {@link DefaultLoggingEvent} can carry without
+ * boxing.
+ *
+ * <p>A primitive value is stored as raw bits in a <code>long</code>. In the
+ * object slot where the value would otherwise have been stored, the event
+ * keeps a placeholder, private to this class so that it cannot be mistaken for
+ * an argument, see {@link #ofPlaceholder(Object)}.
+ *
+ * @author Ceki G&uuml;lc&uuml;
+ * @since 2.0.0
+ */
+public enum PrimitiveType {
+
+	INT {
+		@Override
+		public Object box(long bits) {
+			return Integer.valueOf((int) bits);
+		}
+
+		@Override
+		public void appendTo(StringBuilder sb, long bits) {
+			sb.append((int) bits);
+		}
+	},
+
+	LONG {
+		@Override
+		public Object box(long bits) {
+			return Long.valueOf(bits);
+		}
+
+		@Override
+		public void appendTo(StringBuilder sb, long bits) {
+			sb.append(bits);
+		}
+	},
+
+	FLOAT {
+		@Override
+		public Object box(long bits) {
+			return Float.valueOf(Float.intBitsToFloat((int) bits));
+		}
+
+		@Override
+		public void appendTo(StringBuilder sb, long bits) {
+			sb.append(Float.intBitsToFloat((int) bits));
+		}
+	},
+
+	DOUBLE {
+		@Override
+		public Object box(long bits) {
+			return Double.valueOf(Double.longBitsToDouble(bits));
+		}
+
+		@Override
+		public void appendTo(StringBuilder sb, long bits) {
+			sb.append(Double.longBitsToDouble(bits));
+		}
+	},
+
+	CHAR {
+		@Override
+		public Object box(long bits) {
+			return Character.valueOf((char) bits);
+		}
+
+		@Override
+		public void appendTo(StringBuilder sb, long bits) {
+			sb.append((char) bits);
+		}
+	};
+
+	/**
+	 * Return the boxed form of the value held in 'bits'.
+	 */
+	abstract public Object box(long bits);
+
+	/**
+	 * Append the textual representation of the value held in 'bits', as
+	 * {@link String#valueOf} would render it, without creating an intermediate
+	 * String.
+	 */
+	abstract public void appendTo(StringBuilder sb, long bits);
+
+	private final Placeholder placeholder = new Placeholder(this);
+
+	Object placeholder() {
+		return placeholder;
+	}
+
+	/**
+	 * Return the primitive type whose placeholder is passed as parameter, or
+	 * null if 'o' is not a placeholder.
+	 */
+	public static PrimitiveType ofPlaceholder(Object o) {
+		return o instanceof Placeholder ? ((Placeholder) o).type : null;
+	}
+
+	/**
+	 * Return a copy of 'rawArray' where placeholders are replaced by the boxed
+	 * value of the raw bits held in the same slot of 'bits'.
+	 */
+	public static Object[] boxedCopy(Object[] rawArray, long[] bits) {
+		Object[] boxed = rawArray.clone();
+		int len = Math.min(boxed.length, bits.length);
+		for (int i = 0; i < len; i++) {
+			PrimitiveType type = ofPlaceholder(boxed[i]);
+			if (type != null) {
+				boxed[i] = type.box(bits[i]);
+			}
+		}
+		return boxed;
+	}
+
+	private static final class Placeholder {
+		final PrimitiveType type;
+
+		Placeholder(PrimitiveType type) {
+			this.type = type;
+		}
+
+		@Override
+		public String toString() {
+			return type.name();
+		}
+	}
+
+	static long toBits(float f) {
+		return Float.floatToRawIntBits(f);
+	}
+
+	static long toBits(double d) {
+		return Double.doubleToRawLongBits(d);
+	}
+
+}
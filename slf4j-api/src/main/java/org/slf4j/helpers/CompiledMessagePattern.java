@@ -0,0 +1,166 @@
+package org.slf4j.helpers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The pre-parsed form of a message pattern as understood by
+ * {@link MessageFormatter}.
+ *
+ * <p>The literal text preceding each formatting anchor is extracted once, with
+ * escaped anchors already resolved. Compiled patterns are kept in a bounded,
+ * direct-mapped cache keyed by the identity of the pattern string so that the
+ * literal patterns found in logging statements are scanned only once.
+ *
+ * <p>A pattern is cached only once the same string instance is seen a second
+ * time. Patterns built dynamically, a new instance on each call, are thus
+ * compiled without being cached and do not evict recurring patterns.
+ *
+ * <p>Instances are immutable. The cache is deliberately unsynchronized: a slot
+ * may be overwritten by a concurrent compilation of another pattern, in which
+ * case the loser is simply compiled again on its next use.
+ *
+ * @author Ceki G&uuml;lc&uuml;
+ * @since 2.0.0
+ */
+final class CompiledMessagePattern {
+
+	// must be a power of two
+	static final int CACHE_SIZE = 4096;
+	private static final int CACHE_MASK = CACHE_SIZE - 1;
+
+	private static final CompiledMessagePattern[] CACHE = new CompiledMessagePattern[CACHE_SIZE];
+
+	// the last pattern seen in each slot but not yet cached
+	private static final String[] SEEN = new String[CACHE_SIZE];
+
+	private static final String[] NO_SEGMENTS = new String[0];
+	private static final int[] NO_ANCHOR_ENDS = new int[0];
+
+	final String pattern;
+
+	/**
+	 * Literal text preceding each anchor, escape sequences resolved.
+	 */
+	final String[] segments;
+
+	/**
+	 * Index in the raw pattern immediately following each anchor.
+	 */
+	final int[] anchorEnds;
+
+	/**
+	 * Literal text following the last anchor, escape sequences resolved.
+	 */
+	final String tail;
+
+	/**
+	 * True if the pattern contains neither anchors nor escaped anchors.
+	 */
+	final boolean plain;
+
+	private CompiledMessagePattern(String pattern, String[] segments, int[] anchorEnds, String tail, boolean plain) {
+		this.pattern = pattern;
+		this.segments = segments;
+		this.anchorEnds = anchorEnds;
+		this.tail = tail;
+		this.plain = plain;
+	}
+
+	/**
+	 * Return the compiled form of the pattern passed as parameter, consulting
+	 * the cache first.
+	 *
+	 * @param pattern a non-null message pattern
+	 * @return the compiled form of the pattern
+	 */
+	static CompiledMessagePattern compile(String pattern) {
+		int index = System.identityHashCode(pattern) & CACHE_MASK;
+		CompiledMessagePattern cached = CACHE[index];
+		if (cached != null && cached.pattern == pattern) {
+			return cached;
+		}
+		CompiledMessagePattern compiled = parse(pattern);
+		if (SEEN[index] == pattern) {
+			CACHE[index] = compiled;
+			SEEN[index] = null;
+		} else {
+			SEEN[index] = pattern;
+		}
+		return compiled;
+	}
+
+	int getAnchorCount() {
+		return segments.length;
+	}
+
+	/**
+	 * Would formatting with the given number of arguments leave the pattern
+	 * unchanged?
+	 */
+	boolean isVerbatim(int argCount) {
+		return argCount == 0 || plain;
+	}
+
+	/**
+	 * Parse the pattern as {@link MessageFormatter} always did, that is by
+	 * looking for the next "{}" pair and checking whether it is escaped.
+	 */
+	static CompiledMessagePattern parse(final String pattern) {
+		List<String> segmentList = null;
+		int[] anchorEnds = null;
+
+		StringBuilder current = new StringBuilder();
+		int i = 0;
+		int j;
+		while ((j = pattern.indexOf(MessageFormatter.DELIM_STR, i)) != -1) {
+			if (MessageFormatter.isEscapedDelimeter(pattern, j)) {
+				if (!MessageFormatter.isDoubleEscaped(pattern, j)) {
+					// DELIM_START was escaped, the anchor is literal text
+					current.append(pattern, i, j - 1);
+					current.append(MessageFormatter.DELIM_START);
+					i = j + 1;
+					continue;
+				}
+				// The escape character preceding the delimiter start is
+				// itself escaped: "abc x:\\{}"
+				// we have to consume one backward slash
+				current.append(pattern, i, j - 1);
+			} else {
+				current.append(pattern, i, j);
+			}
+			i = j + 2;
+
+			if (segmentList == null) {
+				segmentList = new ArrayList<String>(4);
+				anchorEnds = new int[4];
+			} else if (segmentList.size() == anchorEnds.length) {
+				int[] grown = new int[anchorEnds.length * 2];
+				System.arraycopy(anchorEnds, 0, grown, 0, anchorEnds.length);
+				anchorEnds = grown;
+			}
+			anchorEnds[segmentList.size()] = i;
+			segmentList.add(current.toString());
+			current.setLength(0);
+		}
+
+		boolean plain = (i == 0);
+		String tail;
+		if (plain) {
+			tail = pattern;
+		} else {
+			current.append(pattern, i, pattern.length());
+			tail = current.toString();
+		}
+
+		if (segmentList == null) {
+			return new CompiledMessagePattern(pattern, NO_SEGMENTS, NO_ANCHOR_ENDS, tail, plain);
+		}
+
+		int anchorCount = segmentList.size();
+		int[] trimmedAnchorEnds = new int[anchorCount];
+		System.arraycopy(anchorEnds, 0, trimmedAnchorEnds, 0, anchorCount);
+		return new CompiledMessagePattern(pattern, segmentList.toArray(new String[anchorCount]), trimmedAnchorEnds, tail, plain);
+	}
+
+}
@@ -25,8 +25,8 @@
 package org.slf4j.helpers;
 
 import java.text.MessageFormat;
-import java.util.HashMap;
-import java.util.Map;
+
+import org.slf4j.event.PrimitiveType;
 
 // contributors: lizongbo: proposed special treatment of array parameter values
 // Joern Huxhorn: pointed out double[] omission, suggested deep array copy
@@ -101,6 +101,10 @@ final public class MessageFormatter {
     static final String DELIM_STR = "{}";
     private static final char ESCAPE_CHAR = '\\';
 
+    // buffers grown beyond this capacity are not kept for reuse
+    private static final int MAX_RECYCLED_BUFFER_CAPACITY = 2048;
+    private static final ThreadLocal<StringBuilder> RECYCLED_BUFFER = new ThreadLocal<StringBuilder>();
+
     /**
      * Performs single argument substitution for the 'messagePattern' passed as
      * parameter.
@@ -168,12 +172,40 @@ final public class MessageFormatter {
      * @param argArray
      */
     final public static String basicArrayFormat(final String messagePattern, final Object[] argArray) {
-    	FormattingTuple ft = arrayFormat(messagePattern, argArray, null);
-    	return ft.getMessage();
+        return basicArrayFormat(messagePattern, argArray, null);
+    }
+
+    private static String basicArrayFormat(final String messagePattern, final Object[] argArray, final long[] primitiveArgs) {
+        if (messagePattern == null || argArray == null) {
+            return messagePattern;
+        }
+
+        CompiledMessagePattern compiledPattern = CompiledMessagePattern.compile(messagePattern);
+        if (compiledPattern.isVerbatim(argArray.length)) {
+            return messagePattern;
+        }
+
+        StringBuilder sbuf = RECYCLED_BUFFER.get();
+        if (sbuf == null) {
+            // either first use on this thread or a re-entrant call made from
+            // within an argument's toString() method
+            sbuf = new StringBuilder(messagePattern.length() + 50);
+        } else {
+            RECYCLED_BUFFER.set(null);
+        }
+
+        appendFormatted(sbuf, compiledPattern, argArray, primitiveArgs, argArray.length);
+        String result = sbuf.toString();
+
+        if (sbuf.capacity() <= MAX_RECYCLED_BUFFER_CAPACITY) {
+            sbuf.setLength(0);
+            RECYCLED_BUFFER.set(sbuf);
+        }
+        return result;
     }
     
     public static String basicArrayFormat(NormalizedParameters np) {
-		return basicArrayFormat(np.getMessage(), np.getArguments());
+		return basicArrayFormat(np.getMessage(), np.getRawArguments(), np.getPrimitiveArguments());
 	}
     
     final public static FormattingTuple arrayFormat(final String messagePattern, final Object[] argArray, Throwable throwable) {
@@ -186,51 +218,174 @@ final public class MessageFormatter {
             return new FormattingTuple(messagePattern);
         }
 
-        int i = 0;
-        int j;
+        CompiledMessagePattern compiledPattern = CompiledMessagePattern.compile(messagePattern);
+        if (compiledPattern.isVerbatim(argArray.length)) {
+            return new FormattingTuple(messagePattern, argArray, throwable);
+        }
+
         // use string builder for better multicore performance
         StringBuilder sbuf = new StringBuilder(messagePattern.length() + 50);
+        appendFormatted(sbuf, compiledPattern, argArray, null, argArray.length);
+        return new FormattingTuple(sbuf.toString(), argArray, throwable);
+    }
 
-        int L;
-        for (L = 0; L < argArray.length; L++) {
+    /**
+     * Substitutes the argument passed as parameter in place of the first
+     * formatting anchor in 'messagePattern' and appends the result to 'dest'.
+     * Unlike {@link #format(String, Object)}, no intermediate buffer, string or
+     * argument array is allocated.
+     *
+     * <p>
+     * A throwable passed as argument is treated as any other argument, i.e. it
+     * is substituted in place of its formatting anchor.
+     *
+     * @param dest
+     *          The buffer to which the formatted message is appended
+     * @param messagePattern
+     *          The message pattern which will be parsed and formatted
+     * @param arg
+     *          The argument to be substituted in place of the formatting anchor
+     * @since 2.0.0
+     */
+    final public static void formatTo(StringBuilder dest, String messagePattern, Object arg) {
+        if (messagePattern == null) {
+            dest.append(messagePattern);
+            return;
+        }
+        CompiledMessagePattern compiledPattern = CompiledMessagePattern.compile(messagePattern);
+        if (compiledPattern.getAnchorCount() == 0) {
+            dest.append(compiledPattern.tail);
+            return;
+        }
+        dest.append(compiledPattern.segments[0]);
+        deeplyAppendParameter(dest, arg, null);
+        appendRemainder(dest, compiledPattern, 1);
+    }
 
-            j = messagePattern.indexOf(DELIM_STR, i);
+    /**
+     * Substitutes the two arguments passed as parameters in place of the first
+     * two formatting anchors in 'messagePattern' and appends the result to
+     * 'dest'. See also {@link #formatTo(StringBuilder, String, Object)}.
+     *
+     * @param dest
+     *          The buffer to which the formatted message is appended
+     * @param messagePattern
+     *          The message pattern which will be parsed and formatted
+     * @param arg1
+     *          The argument to be substituted in place of the first formatting
+     *          anchor
+     * @param arg2
+     *          The argument to be substituted in place of the second formatting
+     *          anchor
+     * @since 2.0.0
+     */
+    final public static void formatTo(StringBuilder dest, String messagePattern, Object arg1, Object arg2) {
+        if (messagePattern == null) {
+            dest.append(messagePattern);
+            return;
+        }
+        CompiledMessagePattern compiledPattern = CompiledMessagePattern.compile(messagePattern);
+        final int anchorCount = compiledPattern.getAnchorCount();
+        if (anchorCount == 0) {
+            dest.append(compiledPattern.tail);
+            return;
+        }
+        dest.append(compiledPattern.segments[0]);
+        deeplyAppendParameter(dest, arg1, null);
+        if (anchorCount > 1) {
+            dest.append(compiledPattern.segments[1]);
+            deeplyAppendParameter(dest, arg2, null);
+        }
+        appendRemainder(dest, compiledPattern, 2);
+    }
 
-            if (j == -1) {
-                // no more variables
-                if (i == 0) { // this is a simple string
-                    return new FormattingTuple(messagePattern, argArray, throwable);
-                } else { // add the tail string which contains no variables and return
-                    // the result.
-                    sbuf.append(messagePattern, i, messagePattern.length());
-                    return new FormattingTuple(sbuf.toString(), argArray, throwable);
-                }
+    /**
+     * Substitutes the arguments passed as parameters in place of the
+     * formatting anchors in 'messagePattern' and appends the result to 'dest'.
+     * See also {@link #formatTo(StringBuilder, String, Object)}.
+     *
+     * <p>
+     * Assumes that argArray only contains arguments with no throwable as last
+     * element, as is the case for {@link NormalizedParameters}.
+     *
+     * @param dest
+     *          The buffer to which the formatted message is appended
+     * @param messagePattern
+     *          The message pattern which will be parsed and formatted
+     * @param argArray
+     *          The arguments to be substituted in place of the formatting
+     *          anchors
+     * @since 2.0.0
+     */
+    final public static void formatTo(StringBuilder dest, String messagePattern, Object... argArray) {
+        if (messagePattern == null || argArray == null) {
+            dest.append(messagePattern);
+            return;
+        }
+        CompiledMessagePattern compiledPattern = CompiledMessagePattern.compile(messagePattern);
+        appendFormatted(dest, compiledPattern, argArray, null, argArray.length);
+    }
+
+    /**
+     * Substitutes the normalized arguments passed as parameter in place of the
+     * formatting anchors of the normalized message and appends the result to
+     * 'dest'. Primitive arguments are appended without being boxed.
+     *
+     * @param dest
+     *          The buffer to which the formatted message is appended
+     * @param np
+     *          The normalized message pattern and arguments
+     * @since 2.0.0
+     */
+    final public static void formatTo(StringBuilder dest, NormalizedParameters np) {
+        String messagePattern = np.getMessage();
+        Object[] argArray = np.getRawArguments();
+        if (messagePattern == null || argArray == null) {
+            dest.append(messagePattern);
+            return;
+        }
+        CompiledMessagePattern compiledPattern = CompiledMessagePattern.compile(messagePattern);
+        appendFormatted(dest, compiledPattern, argArray, np.getPrimitiveArguments(), argArray.length);
+    }
+
+    /**
+     * Append the result of substituting the first 'argCount' elements of
+     * 'argArray' into the compiled pattern. Formatting anchors left without a
+     * matching argument, as well as any text following them, are appended
+     * verbatim.
+     *
+     * <p>
+     * If 'primitiveArgs' is not null, elements of 'argArray' which are
+     * placeholders of a {@link PrimitiveType} are rendered from the raw bits
+     * held in the same slot of 'primitiveArgs'.
+     */
+    private static void appendFormatted(StringBuilder sbuf, CompiledMessagePattern compiledPattern, Object[] argArray, long[] primitiveArgs,
+                    int argCount) {
+        final String[] segments = compiledPattern.segments;
+        final int len = Math.min(argCount, segments.length);
+        for (int k = 0; k < len; k++) {
+            sbuf.append(segments[k]);
+            Object arg = argArray[k];
+            PrimitiveType primitiveType = primitiveArgs == null ? null : PrimitiveType.ofPlaceholder(arg);
+            if (primitiveType != null && k < primitiveArgs.length) {
+                primitiveType.appendTo(sbuf, primitiveArgs[k]);
             } else {
-                if (isEscapedDelimeter(messagePattern, j)) {
-                    if (!isDoubleEscaped(messagePattern, j)) {
-                        L--; // DELIM_START was escaped, thus should not be incremented
-                        sbuf.append(messagePattern, i, j - 1);
-                        sbuf.append(DELIM_START);
-                        i = j + 1;
-                    } else {
-                        // The escape character preceding the delimiter start is
-                        // itself escaped: "abc x:\\{}"
-                        // we have to consume one backward slash
-                        sbuf.append(messagePattern, i, j - 1);
-                        deeplyAppendParameter(sbuf, argArray[L], new HashMap<Object[], Object>());
-                        i = j + 2;
-                    }
-                } else {
-                    // normal case
-                    sbuf.append(messagePattern, i, j);
-                    deeplyAppendParameter(sbuf, argArray[L], new HashMap<Object[], Object>());
-                    i = j + 2;
-                }
+                deeplyAppendParameter(sbuf, arg, null);
             }
         }
-        // append the characters following the last {} pair.
-        sbuf.append(messagePattern, i, messagePattern.length());
-        return new FormattingTuple(sbuf.toString(), argArray, throwable);
+        appendRemainder(sbuf, compiledPattern, argCount);
+    }
+
+    private static void appendRemainder(StringBuilder sbuf, CompiledMessagePattern compiledPattern, int argCount) {
+        if (argCount > compiledPattern.getAnchorCount()) {
+            // add the tail string which contains no variables
+            sbuf.append(compiledPattern.tail);
+        } else {
+            // arguments are exhausted, append the remainder of the pattern as is
+            final String messagePattern = compiledPattern.pattern;
+            int i = argCount == 0 ? 0 : compiledPattern.anchorEnds[argCount - 1];
+            sbuf.append(messagePattern, i, messagePattern.length());
+        }
     }
 
     final static boolean isEscapedDelimeter(String messagePattern, int delimeterStartIndex) {
@@ -255,7 +410,7 @@ final public class MessageFormatter {
     }
 
     // special treatment of array values was suggested by 'lizongbo'
-    private static void deeplyAppendParameter(StringBuilder sbuf, Object o, Map<Object[], Object> seenMap) {
+    private static void deeplyAppendParameter(StringBuilder sbuf, Object o, ArrayPath seenArrays) {
         if (o == null) {
             sbuf.append("null");
             return;
@@ -282,7 +437,7 @@ final public class MessageFormatter {
             } else if (o instanceof double[]) {
                 doubleArrayAppend(sbuf, (double[]) o);
             } else {
-                objectArrayAppend(sbuf, (Object[]) o, seenMap);
+                objectArrayAppend(sbuf, (Object[]) o, seenArrays);
             }
         }
     }
@@ -298,24 +453,60 @@ final public class MessageFormatter {
 
     }
 
-    private static void objectArrayAppend(StringBuilder sbuf, Object[] a, Map<Object[], Object> seenMap) {
+    private static void objectArrayAppend(StringBuilder sbuf, Object[] a, ArrayPath seenArrays) {
         sbuf.append('[');
-        if (!seenMap.containsKey(a)) {
-            seenMap.put(a, null);
+        if (seenArrays == null) {
+            // allocated only once an object array is actually encountered
+            seenArrays = new ArrayPath();
+        }
+        if (!seenArrays.contains(a)) {
+            seenArrays.push(a);
             final int len = a.length;
             for (int i = 0; i < len; i++) {
-                deeplyAppendParameter(sbuf, a[i], seenMap);
+                deeplyAppendParameter(sbuf, a[i], seenArrays);
                 if (i != len - 1)
                     sbuf.append(", ");
             }
             // allow repeats in siblings
-            seenMap.remove(a);
+            seenArrays.pop();
         } else {
             sbuf.append("...");
         }
         sbuf.append(']');
     }
 
+    /**
+     * The object arrays enclosing the value currently being appended. Arrays
+     * are compared by identity. As the nesting depth of arrays passed as
+     * parameters is small, a linear search is adequate.
+     */
+    private static final class ArrayPath {
+        private Object[][] arrays = new Object[4][];
+        private int size;
+
+        boolean contains(Object[] a) {
+            for (int i = 0; i < size; i++) {
+                if (arrays[i] == a) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void push(Object[] a) {
+            if (size == arrays.length) {
+                Object[][] grown = new Object[size * 2][];
+                System.arraycopy(arrays, 0, grown, 0, size);
+                arrays = grown;
+            }
+            arrays[size++] = a;
+        }
+
+        void pop() {
+            arrays[--size] = null;
+        }
+    }
+
     private static void booleanArrayAppend(StringBuilder sbuf, boolean[] a) {
         sbuf.append('[');
         final int len = a.length;
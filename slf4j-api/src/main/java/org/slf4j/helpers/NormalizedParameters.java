@@ -1,6 +1,8 @@
 package org.slf4j.helpers;
 
+import org.slf4j.event.DefaultLoggingEvent;
 import org.slf4j.event.LoggingEvent;
+import org.slf4j.event.PrimitiveType;
 
 /**
  * Holds normalized calling call parameters.
@@ -15,11 +17,22 @@ public class NormalizedParameters {
 	final String message;
 	final Object[] arguments;
 	final Throwable throwable;
+	final long[] primitiveArguments;
+	// arguments with primitive values boxed, computed on first request
+	private Object[] boxedArguments;
 
 	public NormalizedParameters(String message, Object[] arguments, Throwable throwable) {
+		this(message, arguments, throwable, null);
+	}
+
+	/**
+	 * @since 2.0.0
+	 */
+	public NormalizedParameters(String message, Object[] arguments, Throwable throwable, long[] primitiveArguments) {
 		this.message = message;
 		this.arguments = arguments;
 		this.throwable = throwable;
+		this.primitiveArguments = primitiveArguments;
 	}
 
 	public NormalizedParameters(String message, Object[] arguments) {
@@ -30,7 +43,28 @@ public class NormalizedParameters {
 		return message;
 	}
 
+	/**
+	 * Return the arguments, primitive arguments being boxed.
+	 */
 	public Object[] getArguments() {
+		if (primitiveArguments == null || arguments == null) {
+			return arguments;
+		}
+		if (boxedArguments == null) {
+			boxedArguments = PrimitiveType.boxedCopy(arguments, primitiveArguments);
+		}
+		return boxedArguments;
+	}
+
+	/**
+	 * Return the arguments where the slot of each primitive argument holds a
+	 * placeholder, see {@link PrimitiveType#ofPlaceholder(Object)}, its value
+	 * being available in the same slot of {@link #getPrimitiveArguments()}.
+	 * Without primitive arguments, same as {@link #getArguments()}.
+	 *
+	 * @since 2.0.0
+	 */
+	public Object[] getRawArguments() {
 		return arguments;
 	}
 
@@ -38,6 +72,17 @@ public class NormalizedParameters {
 		return throwable;
 	}
 
+	/**
+	 * Return the raw bits of primitive arguments, if any, indexed as
+	 * {@link #getRawArguments()}.
+	 *
+	 * @return the raw bits of primitive arguments, may be null
+	 * @since 2.0.0
+	 */
+	public long[] getPrimitiveArguments() {
+		return primitiveArguments;
+	}
+
 	/**
 	 * Helper method to determine if an {@link Object} array contains a
 	 * {@link Throwable} as last element
@@ -110,6 +155,15 @@ public class NormalizedParameters {
 	}
 
 	public static NormalizedParameters normalize(LoggingEvent event) {
+		if (event instanceof DefaultLoggingEvent) {
+			DefaultLoggingEvent defaultLoggingEvent = (DefaultLoggingEvent) event;
+			long[] primitiveArguments = defaultLoggingEvent.getPrimitiveArguments();
+			if (primitiveArguments != null) {
+				// keep primitive arguments unboxed
+				NormalizedParameters np = normalize(event.getMessage(), defaultLoggingEvent.getRawArgumentArray(), event.getThrowable());
+				return new NormalizedParameters(np.message, np.arguments, np.throwable, primitiveArguments);
+			}
+		}
 		return normalize(event.getMessage(), event.getArgumentArray(), event.getThrowable());
 	}
 
@@ -0,0 +1,314 @@
+package org.slf4j.helpers;
+
+import java.util.AbstractQueue;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.slf4j.event.Level;
+import org.slf4j.event.SubstituteLoggingEvent;
+
+/**
+ * A bounded, lock-free queue holding the events recorded by substitute
+ * loggers during the initialization phase, until they are replayed.
+ *
+ * <p>The queue is a ring buffer of fixed capacity, allocated once. Each slot
+ * carries a sequence number telling producers whether the slot is free and
+ * the consumer whether it is filled, so that neither a lock nor a node
+ * allocation is needed per event. Producers may consume as well, which is
+ * how the {@link OverflowPolicy#KEEP_LAST} policy makes room.
+ *
+ * <p>Once the queue is full, its {@link OverflowPolicy} decides which events
+ * are dropped. Dropped events are counted, see {@link #getDroppedCount()}.
+ * Unlike other bounded queues, {@link #add(SubstituteLoggingEvent)} does not
+ * throw when an event is dropped.
+ *
+ * <p>Iterators are weakly consistent: they reflect the queue at some point at
+ * or since their creation, never throw
+ * {@link java.util.ConcurrentModificationException} and skip the events of
+ * positions claimed by producers which have yet to fill them. Events removed
+ * through an iterator are left in place as tombstones, skipped by
+ * {@link #poll()}, so that {@link #size()} may count them until then.
+ *
+ * @author Ceki G&uuml;lc&uuml;
+ * @since 2.0.0
+ */
+public class SubstituteEventQueue extends AbstractQueue<SubstituteLoggingEvent> {
+
+    /**
+     * Which events to drop once the queue is full.
+     */
+    public enum OverflowPolicy {
+        /** Drop events arriving once the queue is full, the default */
+        KEEP_FIRST,
+        /** Drop the oldest queued events to make room */
+        KEEP_LAST,
+        /**
+         * Drop events arriving once the queue is full, unless they are of
+         * level WARN or ERROR, in which case the oldest queued event is dropped
+         * to make room
+         */
+        DROP_BELOW_WARN
+    }
+
+    private final int capacity;
+    private final OverflowPolicy overflowPolicy;
+
+    private final AtomicReferenceArray<SubstituteLoggingEvent> slots;
+    // equal to the position of the next event to be put in a free slot, or
+    // to that position plus one once the slot is filled
+    private final AtomicLongArray sequences;
+
+    private final AtomicLong enqueuePosition = new AtomicLong();
+    private final AtomicLong dequeuePosition = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    // placed in the slot of an event removed through an iterator
+    private static final SubstituteLoggingEvent REMOVED = new SubstituteLoggingEvent();
+
+    public SubstituteEventQueue(int capacity, OverflowPolicy overflowPolicy) {
+        // with a single slot, a filled slot could not be told from a slot
+        // freed for the next round
+        if (capacity < 2) {
+            throw new IllegalArgumentException("Capacity must be at least 2, got " + capacity);
+        }
+        if (overflowPolicy == null) {
+            throw new IllegalArgumentException("Overflow policy cannot be null");
+        }
+        this.capacity = capacity;
+        this.overflowPolicy = overflowPolicy;
+        this.slots = new AtomicReferenceArray<SubstituteLoggingEvent>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * The number of events dropped so far because the queue was full.
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * Same as {@link #offer(SubstituteLoggingEvent)}.
+     */
+    @Override
+    public boolean add(SubstituteLoggingEvent event) {
+        return offer(event);
+    }
+
+    /**
+     * Queue the event, applying the overflow policy if the queue is full.
+     *
+     * @return false if the event was dropped
+     */
+    public boolean offer(SubstituteLoggingEvent event) {
+        if (event == null) {
+            throw new NullPointerException();
+        }
+        while (!tryEnqueue(event)) {
+            boolean makeRoom;
+            switch (overflowPolicy) {
+            case KEEP_LAST:
+                makeRoom = true;
+                break;
+            case DROP_BELOW_WARN:
+                makeRoom = event.getLevel() != null && event.getLevel().toInt() >= Level.WARN.toInt();
+                break;
+            default:
+                makeRoom = false;
+                break;
+            }
+            if (!makeRoom) {
+                droppedCount.incrementAndGet();
+                return false;
+            }
+            SubstituteLoggingEvent evicted = takeHead();
+            if (evicted != null && evicted != REMOVED) {
+                droppedCount.incrementAndGet();
+            }
+        }
+        return true;
+    }
+
+    private boolean tryEnqueue(SubstituteLoggingEvent event) {
+        while (true) {
+            long position = enqueuePosition.get();
+            int index = (int) (position % capacity);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (enqueuePosition.compareAndSet(position, position + 1)) {
+                    slots.set(index, event);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+            } else if (difference < 0) {
+                // the slot still holds the event queued one round earlier
+                return false;
+            }
+            // else another producer claimed the position, try the next one
+        }
+    }
+
+    public SubstituteLoggingEvent poll() {
+        while (true) {
+            SubstituteLoggingEvent event = takeHead();
+            if (event != REMOVED) {
+                return event;
+            }
+        }
+    }
+
+    /**
+     * Take the event at the head of the queue, possibly a tombstone.
+     *
+     * @return null if the queue is empty
+     */
+    private SubstituteLoggingEvent takeHead() {
+        while (true) {
+            long position = dequeuePosition.get();
+            int index = (int) (position % capacity);
+            long difference = sequences.get(index) - (position + 1);
+            if (difference == 0) {
+                if (dequeuePosition.compareAndSet(position, position + 1)) {
+                    // getAndSet, as an iterator may replace it concurrently
+                    SubstituteLoggingEvent event = slots.getAndSet(index, null);
+                    // free for the producer of the next round
+                    sequences.set(index, position + capacity);
+                    return event;
+                }
+            } else if (difference < 0) {
+                // empty, or the producer of this slot has yet to fill it
+                return null;
+            }
+            // else another consumer took the event, try the next one
+        }
+    }
+
+    public SubstituteLoggingEvent peek() {
+        Iterator<SubstituteLoggingEvent> iterator = iterator();
+        return iterator.hasNext() ? iterator.next() : null;
+    }
+
+    /**
+     * Move up to 'maxElements' events to the given collection.
+     *
+     * @return the number of events moved
+     */
+    public int drainTo(Collection<? super SubstituteLoggingEvent> collection, int maxElements) {
+        int count = 0;
+        while (count < maxElements) {
+            SubstituteLoggingEvent event = poll();
+            if (event == null) {
+                break;
+            }
+            collection.add(event);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * An estimate of the number of queued events.
+     */
+    public int size() {
+        long size = enqueuePosition.get() - dequeuePosition.get();
+        if (size < 0) {
+            return 0;
+        }
+        return (int) Math.min(size, capacity);
+    }
+
+    /**
+     * Remove all queued events and reset the count of dropped events.
+     */
+    @Override
+    public void clear() {
+        super.clear();
+        droppedCount.set(0);
+    }
+
+    /**
+     * A weakly consistent iterator over the queued events, from head to tail.
+     */
+    public Iterator<SubstituteLoggingEvent> iterator() {
+        return new Itr();
+    }
+
+    private class Itr implements Iterator<SubstituteLoggingEvent> {
+
+        private long position = dequeuePosition.get();
+
+        private SubstituteLoggingEvent nextEvent;
+        private int nextIndex;
+
+        private SubstituteLoggingEvent lastEvent;
+        private int lastIndex;
+
+        Itr() {
+            advance();
+        }
+
+        private void advance() {
+            nextEvent = null;
+            // events taken off the queue meanwhile are skipped
+            position = Math.max(position, dequeuePosition.get());
+            long end = enqueuePosition.get();
+            while (position < end) {
+                long current = position++;
+                int index = (int) (current % capacity);
+                if (sequences.get(index) == current + 1) {
+                    SubstituteLoggingEvent event = slots.get(index);
+                    // unless the slot was recycled in the meantime
+                    if (event != null && event != REMOVED && sequences.get(index) == current + 1) {
+                        nextEvent = event;
+                        nextIndex = index;
+                        return;
+                    }
+                }
+            }
+        }
+
+        public boolean hasNext() {
+            return nextEvent != null;
+        }
+
+        public SubstituteLoggingEvent next() {
+            if (nextEvent == null) {
+                throw new NoSuchElementException();
+            }
+            lastEvent = nextEvent;
+            lastIndex = nextIndex;
+            advance();
+            return lastEvent;
+        }
+
+        public void remove() {
+            if (lastEvent == null) {
+                throw new IllegalStateException();
+            }
+            // fails if the event was taken off the queue in the meantime
+            slots.compareAndSet(lastIndex, lastEvent, REMOVED);
+            lastEvent = null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SubstituteEventQueue[size=" + size() + ", capacity=" + capacity + ", overflowPolicy=" + overflowPolicy + ", dropped="
+                        + droppedCount.get() + "]";
+    }
+}
@@ -24,14 +24,16 @@
  */
 package org.slf4j.helpers;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.util.Queue;
 
 import org.slf4j.Logger;
 import org.slf4j.Marker;
 import org.slf4j.event.EventRecodingLogger;
 import org.slf4j.event.LoggingEvent;
+import org.slf4j.event.LoggingEventAware;
 import org.slf4j.event.SubstituteLoggingEvent;
 
 /**
@@ -48,8 +50,10 @@ public class SubstituteLogger implements Logger {
 
     private final String name;
     private volatile Logger _delegate;
-    private Boolean delegateEventAware;
-    private Method logMethodCache;
+    private volatile Boolean delegateEventAware;
+    // bound to the delegate, for delegates declaring log(LoggingEvent) without
+    // implementing LoggingEventAware
+    private MethodHandle logMethodHandle;
     private EventRecodingLogger eventRecodingLogger;
     private Queue<SubstituteLoggingEvent> eventQueue;
 
@@ -352,30 +356,63 @@ public class SubstituteLogger implements Logger {
      * @param delegate
      */
     public void setDelegate(Logger delegate) {
+        this.delegateEventAware = null;
+        this.logMethodHandle = null;
         this._delegate = delegate;
     }
 
+    /**
+     * Can the delegate receive {@link LoggingEvent} instances, either by
+     * implementing {@link LoggingEventAware} or by declaring a public
+     * <code>log(LoggingEvent)</code> method?
+     */
     public boolean isDelegateEventAware() {
         if (delegateEventAware != null)
             return delegateEventAware;
 
-        try {
-            logMethodCache = _delegate.getClass().getMethod("log", LoggingEvent.class);
+        Logger delegate = _delegate;
+        if (delegate instanceof LoggingEventAware) {
             delegateEventAware = Boolean.TRUE;
-        } catch (NoSuchMethodException e) {
-            delegateEventAware = Boolean.FALSE;
+        } else if (delegate == null) {
+            return false;
+        } else {
+            logMethodHandle = findLogMethodHandle(delegate);
+            delegateEventAware = logMethodHandle != null;
         }
         return delegateEventAware;
     }
 
+    private static MethodHandle findLogMethodHandle(Logger delegate) {
+        try {
+            MethodType logMethodType = MethodType.methodType(void.class, LoggingEvent.class);
+            return MethodHandles.publicLookup().findVirtual(delegate.getClass(), "log", logMethodType).bindTo(delegate);
+        } catch (NoSuchMethodException e) {
+            return null;
+        } catch (IllegalAccessException e) {
+            Util.report("Cannot access log(LoggingEvent) method of " + delegate.getClass().getName(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Hand over the event to the delegate, if it is event aware. Exceptions
+     * thrown by the delegate are reported rather than propagated.
+     */
     public void log(LoggingEvent event) {
-        if (isDelegateEventAware()) {
-            try {
-                logMethodCache.invoke(_delegate, event);
-            } catch (IllegalAccessException e) {
-            } catch (IllegalArgumentException e) {
-            } catch (InvocationTargetException e) {
+        if (!isDelegateEventAware()) {
+            return;
+        }
+        Logger delegate = _delegate;
+        try {
+            if (delegate instanceof LoggingEventAware) {
+                ((LoggingEventAware) delegate).log(event);
+            } else {
+                logMethodHandle.invokeExact(event);
             }
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable t) {
+            Util.report("Failed to replay event for logger [" + name + "]", t);
         }
     }
 
@@ -26,33 +26,86 @@ package org.slf4j.helpers;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.LinkedBlockingQueue;
 
 import org.slf4j.ILoggerFactory;
 import org.slf4j.Logger;
 import org.slf4j.event.SubstituteLoggingEvent;
+import org.slf4j.helpers.SubstituteEventQueue.OverflowPolicy;
 
 /**
  * SubstituteLoggerFactory manages instances of {@link SubstituteLogger}.
  *
+ * <p>The events recorded by these loggers during the initialization phase are
+ * held in an unbounded queue by default. Setting the
+ * {@value #REPLAY_CAPACITY_PROPERTY} system property to at least 2 bounds it,
+ * the events then being held in a lock-free {@link SubstituteEventQueue}
+ * instead, see {@link #getRecordingQueue()}. The
+ * {@value #REPLAY_OVERFLOW_POLICY_PROPERTY} system property sets its
+ * overflow policy, {@link OverflowPolicy#KEEP_FIRST} by default.
+ *
  * @author Ceki G&uuml;lc&uuml;
  * @author Chetan Mehrotra
  */
 public class SubstituteLoggerFactory implements ILoggerFactory {
 
+    public static final String REPLAY_CAPACITY_PROPERTY = "slf4j.replayCapacity";
+    public static final String REPLAY_OVERFLOW_POLICY_PROPERTY = "slf4j.replayOverflowPolicy";
+
     volatile boolean postInitialization = false;
     
-    final Map<String, SubstituteLogger> loggers = new ConcurrentHashMap<String, SubstituteLogger>();
+    final ConcurrentMap<String, SubstituteLogger> loggers = new ConcurrentHashMap<String, SubstituteLogger>();
 
     final LinkedBlockingQueue<SubstituteLoggingEvent> eventQueue = new LinkedBlockingQueue<SubstituteLoggingEvent>();
 
-    synchronized public  Logger getLogger(String name) {
+    // eventQueue unless a replay capacity is set
+    final Queue<SubstituteLoggingEvent> recordingQueue = newRecordingQueue(eventQueue);
+
+    private static Queue<SubstituteLoggingEvent> newRecordingQueue(LinkedBlockingQueue<SubstituteLoggingEvent> unboundedQueue) {
+        String capacity = Util.safeGetSystemProperty(REPLAY_CAPACITY_PROPERTY);
+        if (capacity == null) {
+            return unboundedQueue;
+        }
+        try {
+            int value = Integer.parseInt(capacity.trim());
+            if (value > 1) {
+                return new SubstituteEventQueue(value, getReplayOverflowPolicy());
+            }
+        } catch (NumberFormatException e) {
+        }
+        Util.report("Ignoring invalid value [" + capacity + "] of " + REPLAY_CAPACITY_PROPERTY);
+        return unboundedQueue;
+    }
+
+    private static OverflowPolicy getReplayOverflowPolicy() {
+        String overflowPolicy = Util.safeGetSystemProperty(REPLAY_OVERFLOW_POLICY_PROPERTY);
+        if (overflowPolicy == null) {
+            return OverflowPolicy.KEEP_FIRST;
+        }
+        try {
+            return OverflowPolicy.valueOf(overflowPolicy.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            Util.report("Ignoring invalid value [" + overflowPolicy + "] of " + REPLAY_OVERFLOW_POLICY_PROPERTY);
+            return OverflowPolicy.KEEP_FIRST;
+        }
+    }
+
+    /**
+     * Return the substitute logger of the given name, creating it if need be.
+     * Threads asking for the same new logger concurrently may each create an
+     * instance, all but the first one registered are discarded.
+     */
+    public Logger getLogger(String name) {
         SubstituteLogger logger = loggers.get(name);
         if (logger == null) {
-            logger = new SubstituteLogger(name, eventQueue, postInitialization);
-            loggers.put(name, logger);
+            SubstituteLogger newLogger = new SubstituteLogger(name, recordingQueue, postInitialization);
+            logger = loggers.putIfAbsent(name, newLogger);
+            if (logger == null) {
+                logger = newLogger;
+            }
         }
         return logger;
     }
@@ -65,16 +118,34 @@ public class SubstituteLoggerFactory implements ILoggerFactory {
         return new ArrayList<SubstituteLogger>(loggers.values());
     }
 
+    /**
+     * The unbounded queue holding the events recorded by the substitute
+     * loggers, unless the {@value #REPLAY_CAPACITY_PROPERTY} system property
+     * is set, in which case it remains empty.
+     *
+     * @see #getRecordingQueue()
+     */
     public LinkedBlockingQueue<SubstituteLoggingEvent> getEventQueue() {
         return eventQueue;
     }
 
+    /**
+     * The queue holding the events recorded by the substitute loggers, either
+     * {@link #getEventQueue()} or, if the {@value #REPLAY_CAPACITY_PROPERTY}
+     * system property is set, a bounded {@link SubstituteEventQueue}.
+     *
+     * @since 2.0.0
+     */
+    public Queue<SubstituteLoggingEvent> getRecordingQueue() {
+        return recordingQueue;
+    }
+
     public void postInitialization() {
     	postInitialization = true;
     }
     
     public void clear() {
         loggers.clear();
-        eventQueue.clear();
+        recordingQueue.clear();
     }
 }
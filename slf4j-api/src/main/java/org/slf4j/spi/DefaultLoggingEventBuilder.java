@@ -9,17 +9,66 @@ import org.slf4j.event.KeyValuePair;
 import org.slf4j.event.Level;
 import org.slf4j.event.LoggingEvent;
 import org.slf4j.event.LoggingEventAware;
+import org.slf4j.helpers.Util;
 
 public class DefaultLoggingEventBuilder implements LoggingEventBuilder {
 
+	/**
+	 * System property which, when set to "true", enables the reuse of builders
+	 * and events on a per thread basis. Each builder must then be discarded
+	 * once one of its <code>log</code> methods is invoked. Consumers keeping
+	 * events beyond the logging call must go through
+	 * {@link DefaultLoggingEvent#retain(LoggingEvent)}.
+	 */
+	public static final String RECYCLE_PROPERTY = "slf4j.recycleLoggingEvents";
+
+	static boolean RECYCLE = Util.safeGetBooleanSystemProperty(RECYCLE_PROPERTY);
+
+	private static final ThreadLocal<DefaultLoggingEventBuilder> RECYCLED_BUILDER = new ThreadLocal<>();
+
+	private static final Object[] NO_ARGUMENTS = new Object[0];
+
 	DefaultLoggingEvent loggingEvent;
 	Logger logger;
 
+	// true if this builder is returned to RECYCLED_BUILDER once logged
+	boolean recycled;
+
 	public DefaultLoggingEventBuilder(Logger logger, Level level) {
 		this.logger = logger;
 		loggingEvent = new DefaultLoggingEvent(level, logger);
 	}
 
+	/**
+	 * Return a builder for the logger and level passed as parameters. If
+	 * recycling is enabled (see {@link #RECYCLE_PROPERTY}), the builder last
+	 * used by the calling thread is reused, provided it is not itself in use.
+	 *
+	 * @param logger the logger which will log the event
+	 * @param level the level of the event
+	 * @return a builder for the logger and level passed as parameters
+	 * @since 2.0.0
+	 */
+	public static DefaultLoggingEventBuilder newBuilder(Logger logger, Level level) {
+		if (!RECYCLE) {
+			return new DefaultLoggingEventBuilder(logger, level);
+		}
+
+		DefaultLoggingEventBuilder builder = RECYCLED_BUILDER.get();
+		if (builder == null) {
+			builder = new DefaultLoggingEventBuilder(logger, level);
+		} else {
+			// taken out while in use, so that nested logging calls get their own builder
+			RECYCLED_BUILDER.set(null);
+			builder.logger = logger;
+			builder.loggingEvent.setLogger(logger);
+			builder.loggingEvent.setLevel(level);
+		}
+		builder.recycled = true;
+		builder.loggingEvent.setRecycled(true);
+		return builder;
+	}
+
 	/**
 	 * Add a marker to the current logging event being built.
 	 * 
@@ -45,9 +94,39 @@ public class DefaultLoggingEventBuilder implements LoggingEventBuilder {
 		return this;
 	}
 
+	@Override
+	public LoggingEventBuilder addArgument(int i) {
+		loggingEvent.addArgument(i);
+		return this;
+	}
+
+	@Override
+	public LoggingEventBuilder addArgument(long l) {
+		loggingEvent.addArgument(l);
+		return this;
+	}
+
+	@Override
+	public LoggingEventBuilder addArgument(float f) {
+		loggingEvent.addArgument(f);
+		return this;
+	}
+
+	@Override
+	public LoggingEventBuilder addArgument(double d) {
+		loggingEvent.addArgument(d);
+		return this;
+	}
+
+	@Override
+	public LoggingEventBuilder addArgument(char c) {
+		loggingEvent.addArgument(c);
+		return this;
+	}
+
 	@Override
 	public LoggingEventBuilder addArgument(Supplier<Object> objectSupplier) {
-		loggingEvent.addArgument(objectSupplier.get());
+		loggingEvent.addDeferredArgument(objectSupplier);
 		return this;
 	}
 
@@ -82,32 +161,38 @@ public class DefaultLoggingEventBuilder implements LoggingEventBuilder {
 	}
 
 	private void innerLog(LoggingEvent logggingEvent) {
-		if (logger instanceof LoggingEventAware) {
-			((LoggingEventAware) logger).log(logggingEvent);
-		} else {
-			logViaPublicLoggerAPI(logggingEvent);
+		try {
+			if (logger instanceof LoggingEventAware) {
+				((LoggingEventAware) logger).log(logggingEvent);
+			} else {
+				logViaPublicLoggerAPI(logggingEvent);
+			}
+		} finally {
+			if (recycled) {
+				recycle();
+			}
 		}
 	}
+
+	private void recycle() {
+		loggingEvent.clear();
+		logger = null;
+		RECYCLED_BUILDER.set(this);
+	}
 	
 	private void logViaPublicLoggerAPI(LoggingEvent logggingEvent) {
-		Object[] argArray = logggingEvent.getArgumentArray();
-		int argLen = argArray == null ? 0 : argArray.length;
+		String msg = mergeMarkersAndKeyValuePairs(logggingEvent, logggingEvent.getMessage());
 
+		// the event does not escape this builder, the throwable can be passed
+		// as the last argument without copying the arguments
 		Throwable t = logggingEvent.getThrowable();
-		int tLen = t == null ? 0 : 1;
-
-		String msg = logggingEvent.getMessage();
-
-		Object[] combinedArguments = new Object[argLen + tLen];
-
-		if (argArray != null) {
-			System.arraycopy(argArray, 0, combinedArguments, 0, argLen);
-		}
 		if (t != null) {
-			combinedArguments[argLen] = t;
+			loggingEvent.addArgument(t);
+		}
+		Object[] combinedArguments = logggingEvent.getArgumentArray();
+		if (combinedArguments == null) {
+			combinedArguments = NO_ARGUMENTS;
 		}
-
-		msg = mergeMarkersAndKeyValuePairs(logggingEvent, msg);
 		
 		switch (logggingEvent.getLevel()) {
 		case TRACE:
@@ -184,9 +269,39 @@ public class DefaultLoggingEventBuilder implements LoggingEventBuilder {
 		return this;
 	}
 
+	@Override
+	public LoggingEventBuilder addKeyValue(String key, int i) {
+		loggingEvent.addKeyValue(key, i);
+		return this;
+	}
+
+	@Override
+	public LoggingEventBuilder addKeyValue(String key, long l) {
+		loggingEvent.addKeyValue(key, l);
+		return this;
+	}
+
+	@Override
+	public LoggingEventBuilder addKeyValue(String key, float f) {
+		loggingEvent.addKeyValue(key, f);
+		return this;
+	}
+
+	@Override
+	public LoggingEventBuilder addKeyValue(String key, double d) {
+		loggingEvent.addKeyValue(key, d);
+		return this;
+	}
+
+	@Override
+	public LoggingEventBuilder addKeyValue(String key, char c) {
+		loggingEvent.addKeyValue(key, c);
+		return this;
+	}
+
 	@Override
 	public LoggingEventBuilder addKeyValue(String key, Supplier<Object> value) {
-		loggingEvent.addKeyValue(key, value.get());
+		loggingEvent.addDeferredKeyValue(key, value);
 		return this;
 	}
 
@@ -18,9 +18,94 @@ public interface LoggingEventBuilder {
 	
 	LoggingEventBuilder addMarker(Marker marker);
 	LoggingEventBuilder addArgument(Object p);
+
+	/**
+	 * Add an argument whose value is computed by the supplier passed as
+	 * parameter. The supplier is invoked at most once, and only if the
+	 * resulting event is actually rendered by the binding.
+	 */
 	LoggingEventBuilder addArgument(Supplier<Object> objectSupplier);
 	LoggingEventBuilder addKeyValue(String key, Object value);
+
+	/**
+	 * Add a key-value pair whose value is computed by the supplier passed as
+	 * parameter. The supplier is invoked at most once, and only if the
+	 * resulting event is actually rendered by the binding.
+	 */
 	LoggingEventBuilder addKeyValue(String key, Supplier<Object> value);
+
+	/**
+	 * Add an int argument. Implementations are expected to carry the value
+	 * without boxing it, so that disabled logging statements cost nothing.
+	 *
+	 * <p>The default implementation boxes the value.
+	 */
+	default LoggingEventBuilder addArgument(int i) {
+		return addArgument((Object) Integer.valueOf(i));
+	}
+
+	/**
+	 * Add a long argument. See {@link #addArgument(int)}.
+	 */
+	default LoggingEventBuilder addArgument(long l) {
+		return addArgument((Object) Long.valueOf(l));
+	}
+
+	/**
+	 * Add a float argument. See {@link #addArgument(int)}.
+	 */
+	default LoggingEventBuilder addArgument(float f) {
+		return addArgument((Object) Float.valueOf(f));
+	}
+
+	/**
+	 * Add a double argument. See {@link #addArgument(int)}.
+	 */
+	default LoggingEventBuilder addArgument(double d) {
+		return addArgument((Object) Double.valueOf(d));
+	}
+
+	/**
+	 * Add a char argument. See {@link #addArgument(int)}.
+	 */
+	default LoggingEventBuilder addArgument(char c) {
+		return addArgument((Object) Character.valueOf(c));
+	}
+
+	/**
+	 * Add a key-value pair with an int value. See {@link #addArgument(int)}.
+	 */
+	default LoggingEventBuilder addKeyValue(String key, int i) {
+		return addKeyValue(key, (Object) Integer.valueOf(i));
+	}
+
+	/**
+	 * Add a key-value pair with a long value. See {@link #addArgument(int)}.
+	 */
+	default LoggingEventBuilder addKeyValue(String key, long l) {
+		return addKeyValue(key, (Object) Long.valueOf(l));
+	}
+
+	/**
+	 * Add a key-value pair with a float value. See {@link #addArgument(int)}.
+	 */
+	default LoggingEventBuilder addKeyValue(String key, float f) {
+		return addKeyValue(key, (Object) Float.valueOf(f));
+	}
+
+	/**
+	 * Add a key-value pair with a double value. See {@link #addArgument(int)}.
+	 */
+	default LoggingEventBuilder addKeyValue(String key, double d) {
+		return addKeyValue(key, (Object) Double.valueOf(d));
+	}
+
+	/**
+	 * Add a key-value pair with a char value. See {@link #addArgument(int)}.
+	 */
+	default LoggingEventBuilder addKeyValue(String key, char c) {
+		return addKeyValue(key, (Object) Character.valueOf(c));
+	}
 	
 	void log(String message);
 
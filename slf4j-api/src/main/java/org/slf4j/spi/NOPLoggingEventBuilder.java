@@ -45,6 +45,56 @@ public class NOPLoggingEventBuilder implements LoggingEventBuilder {
 		return singleton();
 	}
 
+	@Override
+	public LoggingEventBuilder addArgument(int i) {
+		return singleton();
+	}
+
+	@Override
+	public LoggingEventBuilder addArgument(long l) {
+		return singleton();
+	}
+
+	@Override
+	public LoggingEventBuilder addArgument(float f) {
+		return singleton();
+	}
+
+	@Override
+	public LoggingEventBuilder addArgument(double d) {
+		return singleton();
+	}
+
+	@Override
+	public LoggingEventBuilder addArgument(char c) {
+		return singleton();
+	}
+
+	@Override
+	public LoggingEventBuilder addKeyValue(String key, int i) {
+		return singleton();
+	}
+
+	@Override
+	public LoggingEventBuilder addKeyValue(String key, long l) {
+		return singleton();
+	}
+
+	@Override
+	public LoggingEventBuilder addKeyValue(String key, float f) {
+		return singleton();
+	}
+
+	@Override
+	public LoggingEventBuilder addKeyValue(String key, double d) {
+		return singleton();
+	}
+
+	@Override
+	public LoggingEventBuilder addKeyValue(String key, char c) {
+		return singleton();
+	}
+
 	@Override
 	public LoggingEventBuilder setCause(Throwable cause) {
 		return singleton();
@@ -0,0 +1,57 @@
+package org.slf4j;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.helpers.NOPLogger;
+import org.slf4j.helpers.NOPServiceProvider;
+
+public class ExplicitProviderTest {
+
+    @Before
+    public void setUp() {
+        LoggerFactoryFriend.reset();
+    }
+
+    @After
+    public void tearDown() {
+        System.clearProperty(LoggerFactory.PROVIDER_PROPERTY_KEY);
+        System.clearProperty(LoggerFactory.LEGACY_BINDING_SCAN_PROPERTY);
+        LoggerFactoryFriend.reset();
+    }
+
+    @Test
+    public void explicitProviderIsUsed() {
+        System.setProperty(LoggerFactory.PROVIDER_PROPERTY_KEY, NOPServiceProvider.class.getName());
+        Logger logger = LoggerFactory.getLogger(ExplicitProviderTest.class);
+        assertEquals(LoggerFactory.SUCCESSFUL_INITIALIZATION, LoggerFactory.INITIALIZATION_STATE);
+        assertTrue(LoggerFactory.PROVIDER instanceof NOPServiceProvider);
+        assertTrue(logger instanceof NOPLogger);
+    }
+
+    @Test
+    public void missingProviderFallsBackToServiceLoader() {
+        System.setProperty(LoggerFactory.PROVIDER_PROPERTY_KEY, "com.example.MissingProvider");
+        assertNull(LoggerFactory.loadExplicitlySpecified(ExplicitProviderTest.class.getClassLoader()));
+        LoggerFactory.getLogger(ExplicitProviderTest.class);
+        // no provider on the class path of this module
+        assertEquals(LoggerFactory.NOP_FALLBACK_INITIALIZATION, LoggerFactory.INITIALIZATION_STATE);
+    }
+
+    @Test
+    public void nonProviderClassIsRejected() {
+        System.setProperty(LoggerFactory.PROVIDER_PROPERTY_KEY, String.class.getName());
+        assertNull(LoggerFactory.loadExplicitlySpecified(ExplicitProviderTest.class.getClassLoader()));
+    }
+
+    @Test
+    public void legacyBindingScanCanBeDisabled() {
+        System.setProperty(LoggerFactory.LEGACY_BINDING_SCAN_PROPERTY, "false");
+        LoggerFactory.getLogger(ExplicitProviderTest.class);
+        assertEquals(LoggerFactory.NOP_FALLBACK_INITIALIZATION, LoggerFactory.INITIALIZATION_STATE);
+    }
+}
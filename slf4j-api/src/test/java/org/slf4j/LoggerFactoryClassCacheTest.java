@@ -0,0 +1,70 @@
+package org.slf4j;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.helpers.SubstituteLogger;
+
+public class LoggerFactoryClassCacheTest {
+
+    @Before
+    public void setUp() {
+        LoggerFactoryFriend.reset();
+    }
+
+    @After
+    public void tearDown() {
+        LoggerFactoryFriend.reset();
+    }
+
+    @Test
+    public void loggerIsCachedPerClass() {
+        Logger logger = LoggerFactory.getLogger(LoggerFactoryClassCacheTest.class);
+        assertSame(logger, LoggerFactory.getLogger(LoggerFactoryClassCacheTest.class));
+        assertSame(logger, LoggerFactory.LOGGER_CACHE.get(LoggerFactoryClassCacheTest.class));
+    }
+
+    @Test
+    public void resetDropsCachedLoggers() {
+        LoggerFactory.LoggerCache loggerCache = LoggerFactory.LOGGER_CACHE;
+        LoggerFactory.getLogger(LoggerFactoryClassCacheTest.class);
+        LoggerFactoryFriend.reset();
+        assertNotSame(loggerCache, LoggerFactory.LOGGER_CACHE);
+    }
+
+    @Test
+    public void substituteLoggersAreNotCached() {
+        LoggerFactory.INITIALIZATION_STATE = LoggerFactory.ONGOING_INITIALIZATION;
+        Logger substituteLogger = LoggerFactory.getLogger(LoggerFactoryClassCacheTest.class);
+        assertTrue(substituteLogger instanceof SubstituteLogger);
+
+        // initialization proper happens on the next call
+        LoggerFactory.INITIALIZATION_STATE = LoggerFactory.UNINITIALIZED;
+        Logger logger = LoggerFactory.getLogger(LoggerFactoryClassCacheTest.class);
+        assertFalse(logger instanceof SubstituteLogger);
+        assertSame(logger, LoggerFactory.getLogger(LoggerFactoryClassCacheTest.class));
+    }
+
+    @Test
+    public void clearLoggerCacheDropsCachedLoggers() {
+        LoggerFactory.getLogger(LoggerFactoryClassCacheTest.class);
+        LoggerFactory.LoggerCache loggerCache = LoggerFactory.LOGGER_CACHE;
+        LoggerFactoryFriend.clearLoggerCache();
+        assertNotSame(loggerCache, LoggerFactory.LOGGER_CACHE);
+    }
+
+    @Test
+    public void lookupsWorkWithoutCache() {
+        LoggerFactory.getLogger(LoggerFactoryClassCacheTest.class);
+        // as where ClassValue is not available
+        LoggerFactory.LOGGER_CACHE = null;
+        LoggerFactory.MISMATCH_CHECKED = null;
+        assertNotNull(LoggerFactory.getLogger(LoggerFactoryClassCacheTest.class));
+    }
+}
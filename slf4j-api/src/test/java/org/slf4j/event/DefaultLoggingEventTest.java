@@ -0,0 +1,223 @@
+package org.slf4j.event;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.slf4j.Marker;
+import org.slf4j.helpers.BasicMarkerFactory;
+import org.slf4j.helpers.MessageFormatter;
+import org.slf4j.helpers.NOPLogger;
+import org.slf4j.helpers.NormalizedParameters;
+
+public class DefaultLoggingEventTest {
+
+    DefaultLoggingEvent event = new DefaultLoggingEvent(Level.INFO, NOPLogger.NOP_LOGGER);
+
+    @Test
+    public void primitiveArgumentsAreBoxedOnlyOnRequest() {
+        event.addArgument("a");
+        event.addArgument(1);
+        event.addArgument(2L);
+        event.addArgument(1.5f);
+        event.addArgument(2.5d);
+        event.addArgument('c');
+
+        Object[] raw = event.getRawArgumentArray();
+        assertEquals("a", raw[0]);
+        assertEquals(PrimitiveType.INT, PrimitiveType.ofPlaceholder(raw[1]));
+        assertEquals(PrimitiveType.CHAR, PrimitiveType.ofPlaceholder(raw[5]));
+
+        Object[] expected = new Object[] { "a", 1, 2L, 1.5f, 2.5d, 'c' };
+        assertArrayEquals(expected, event.getArgumentArray());
+        assertEquals(Arrays.asList(expected), event.getArguments());
+    }
+
+    @Test
+    public void primitiveArgumentsAreFormattedWithoutBoxing() {
+        event.setMessage("{} {} {} {} {} {}");
+        event.addArgument(Integer.MIN_VALUE);
+        event.addArgument(Long.MAX_VALUE);
+        event.addArgument(-0.1f);
+        event.addArgument(Double.NaN);
+        event.addArgument('x');
+        event.addArgument((Object) null);
+
+        StringBuilder sb = new StringBuilder();
+        MessageFormatter.formatTo(sb, NormalizedParameters.normalize(event));
+        assertEquals("-2147483648 9223372036854775807 -0.1 NaN x null", sb.toString());
+    }
+
+    @Test
+    public void throwableAfterPrimitiveArguments() {
+        Throwable t = new IllegalStateException();
+        event.setMessage("{}");
+        event.addArgument(7L);
+        event.addArgument(t);
+
+        NormalizedParameters np = NormalizedParameters.normalize(event);
+        assertEquals(t, np.getThrowable());
+        assertEquals("7", MessageFormatter.basicArrayFormat(np));
+    }
+
+    @Test
+    public void normalizedArgumentsAreBoxed() {
+        event.setMessage("{} {}");
+        event.addArgument("a");
+        event.addArgument(42);
+
+        NormalizedParameters np = NormalizedParameters.normalize(event);
+        assertArrayEquals(new Object[] { "a", 42 }, np.getArguments());
+        assertEquals(PrimitiveType.INT, PrimitiveType.ofPlaceholder(np.getRawArguments()[1]));
+        assertEquals(42L, np.getPrimitiveArguments()[1]);
+    }
+
+    @Test
+    public void primitiveTypeArgumentIsNotAPlaceholder() {
+        event.setMessage("{} {}");
+        event.addArgument(PrimitiveType.LONG);
+        event.addArgument(5);
+        event.addKeyValue("k", PrimitiveType.INT);
+        event.addKeyValue("n", 3);
+
+        assertEquals("LONG 5", MessageFormatter.basicArrayFormat(NormalizedParameters.normalize(event)));
+        assertArrayEquals(new Object[] { PrimitiveType.LONG, 5 }, event.getArgumentArray());
+        assertEquals(PrimitiveType.INT, event.getKeyValuePairs().get(0).value);
+        assertEquals(3, event.getKeyValuePairs().get(1).value);
+    }
+
+    @Test
+    public void primitiveKeyValuePairs() {
+        assertNull(event.getKeyValuePairs());
+        event.addKeyValue("a", "x");
+        event.addKeyValue("b", 3);
+        event.addKeyValue("c", 4.5d);
+
+        List<KeyValuePair> kvps = event.getKeyValuePairs();
+        assertEquals(3, kvps.size());
+        assertEquals("x", kvps.get(0).value);
+        assertEquals(3, kvps.get(1).value);
+        assertEquals(4.5d, kvps.get(2).value);
+    }
+
+    @Test
+    public void argumentArrayIsNotCopied() {
+        event.addArguments("a", "b", "c");
+        Object[] args = event.getArgumentArray();
+        assertArrayEquals(new Object[] { "a", "b", "c" }, args);
+        assertSame(args, event.getArgumentArray());
+        assertSame(args, event.getRawArgumentArray());
+    }
+
+    @Test
+    public void argumentArrayIsTrimmedToSize() {
+        event.addArgument("a");
+        event.addArgument("b");
+        event.addArgument("c");
+        Object[] args = event.getArgumentArray();
+        assertArrayEquals(new Object[] { "a", "b", "c" }, args);
+        assertSame(args, event.getArgumentArray());
+
+        event.addArgument("d");
+        assertArrayEquals(new Object[] { "a", "b", "c" }, args);
+        assertArrayEquals(new Object[] { "a", "b", "c", "d" }, event.getArgumentArray());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void argumentListIsReadOnly() {
+        event.addArgument("a");
+        event.getArguments().add("b");
+    }
+
+    @Test
+    public void markersAndKeyValuePairsGrow() {
+        BasicMarkerFactory factory = new BasicMarkerFactory();
+        assertNull(event.getMarkers());
+        for (int i = 0; i < 5; i++) {
+            event.addMarker(factory.getMarker("M" + i));
+            event.addKeyValue("k" + i, i);
+        }
+        assertEquals(5, event.getMarkers().size());
+        assertEquals("M4", event.getMarkers().get(4).getName());
+        assertEquals(5, event.getKeyValuePairs().size());
+        assertEquals(4, event.getKeyValuePairs().get(4).value);
+    }
+
+    @Test
+    public void suppliersAreInvokedOnlyWhenValuesAreRequested() {
+        AtomicInteger invocations = new AtomicInteger();
+        event.addDeferredArgument(() -> "a" + invocations.incrementAndGet());
+        event.addDeferredKeyValue("k", () -> "v" + invocations.incrementAndGet());
+        event.setMessage("{}");
+        assertEquals(0, invocations.get());
+
+        assertEquals("a1", MessageFormatter.basicArrayFormat(NormalizedParameters.normalize(event)));
+        assertEquals(1, invocations.get());
+        assertEquals("a1", event.getArguments().get(0));
+        assertEquals(1, invocations.get());
+
+        assertEquals("v2", event.getKeyValuePairs().get(0).value);
+        assertEquals("v2", event.getKeyValuePairs().get(0).value);
+        assertEquals(2, invocations.get());
+    }
+
+    @Test
+    public void deferredValuesAreResolvedOnceAcrossCopies() {
+        AtomicInteger invocations = new AtomicInteger();
+        event.addArgument(1);
+        event.addDeferredArgument(() -> invocations.incrementAndGet());
+        event.setRecycled(true);
+        LoggingEvent copy = DefaultLoggingEvent.retain(event);
+        copy.resolveDeferredValues();
+        event.resolveDeferredValues();
+
+        assertEquals(1, invocations.get());
+        assertArrayEquals(new Object[] { 1, 1 }, copy.getArgumentArray());
+        assertArrayEquals(new Object[] { 1, 1 }, event.getArgumentArray());
+    }
+
+    @Test
+    public void arraysHandedOutSurviveClear() {
+        BasicMarkerFactory factory = new BasicMarkerFactory();
+        event.addMarker(factory.getMarker("M"));
+        event.addArgument("a");
+        event.addArgument(1);
+        event.addKeyValue("k", "v");
+
+        Object[] raw = event.getRawArgumentArray();
+        long[] primitives = event.getPrimitiveArguments();
+        List<Marker> markers = event.getMarkers();
+        List<KeyValuePair> kvps = event.getKeyValuePairs();
+        event.clear();
+        event.addMarker(factory.getMarker("N"));
+        event.addArgument("b");
+        event.addArgument(2);
+        event.addKeyValue("k2", "v2");
+
+        assertEquals("a", raw[0]);
+        assertEquals(1L, primitives[1]);
+        assertEquals("M", markers.get(0).getName());
+        assertEquals("v", kvps.get(0).value);
+        assertArrayEquals(new Object[] { "b", 2 }, event.getArgumentArray());
+    }
+
+    @Test
+    public void arraysNotHandedOutAreReused() {
+        event.addArgument("a");
+        event.addArgument(1);
+        Object[] arguments = event.arguments;
+        long[] primitives = event.primitiveArguments;
+        event.getArgumentArray();
+        event.clear();
+        event.addArgument("b");
+        event.addArgument(2);
+        assertSame(arguments, event.arguments);
+        assertSame(primitives, event.primitiveArguments);
+    }
+}
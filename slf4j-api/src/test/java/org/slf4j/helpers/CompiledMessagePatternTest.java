@@ -0,0 +1,30 @@
+package org.slf4j.helpers;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+public class CompiledMessagePatternTest {
+
+    @Test
+    public void patternIsCachedOnSecondSighting() {
+        String pattern = new String("cached on second sighting {}");
+        CompiledMessagePattern first = CompiledMessagePattern.compile(pattern);
+        CompiledMessagePattern second = CompiledMessagePattern.compile(pattern);
+        assertNotSame(first, second);
+        assertSame(second, CompiledMessagePattern.compile(pattern));
+    }
+
+    @Test
+    public void dynamicPatternsDoNotEvictCachedPatterns() {
+        String pattern = new String("recurring pattern {}");
+        CompiledMessagePattern.compile(pattern);
+        CompiledMessagePattern cached = CompiledMessagePattern.compile(pattern);
+
+        for (int i = 0; i < 4 * CompiledMessagePattern.CACHE_SIZE; i++) {
+            CompiledMessagePattern.compile("dynamic pattern " + i + " {}");
+        }
+        assertSame(cached, CompiledMessagePattern.compile(pattern));
+    }
+}
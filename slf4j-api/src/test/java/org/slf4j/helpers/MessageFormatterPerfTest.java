@@ -0,0 +1,99 @@
+package org.slf4j.helpers;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Ignore;
+import org.junit.Test;
+
+/**
+ * Compares the cost of formatting a recurring pattern through the compiled
+ * pattern cache with that of scanning the pattern on each invocation, as
+ * {@link MessageFormatter} did before the cache was introduced.
+ */
+public class MessageFormatterPerfTest {
+
+    static int RUN_LENGTH = 200 * 1000;
+
+    static final String PATTERN = "Request {} for user {} completed in {} ms with status {}";
+
+    Object[] args = new Object[] { "GET /index.html", "alice", "12", "200" };
+
+    double cachedLoop() {
+        long start = System.nanoTime();
+        for (int i = 0; i < RUN_LENGTH; i++) {
+            MessageFormatter.basicArrayFormat(PATTERN, args);
+        }
+        long end = System.nanoTime();
+        return (end - start) * 1.0 / RUN_LENGTH;
+    }
+
+    double scanningLoop() {
+        long start = System.nanoTime();
+        for (int i = 0; i < RUN_LENGTH; i++) {
+            scanningFormat(PATTERN, args);
+        }
+        long end = System.nanoTime();
+        return (end - start) * 1.0 / RUN_LENGTH;
+    }
+
+    @Test
+    public void compiledAndScanningFormatsAgree() {
+        assertEquals(scanningFormat(PATTERN, args), MessageFormatter.basicArrayFormat(PATTERN, args));
+    }
+
+    @Ignore
+    @Test
+    public void testPerf() {
+        // warm up
+        scanningLoop();
+        cachedLoop();
+
+        double scanningAvg = scanningLoop();
+        System.out.println("Average cost per call (scanning): " + scanningAvg + " nanos");
+        double cachedAvg = cachedLoop();
+        System.out.println("Average cost per call (compiled pattern): " + cachedAvg + " nanos");
+        System.out.println("Ratio " + (scanningAvg / cachedAvg));
+    }
+
+    /**
+     * The pattern scanning algorithm used prior to the introduction of
+     * {@link CompiledMessagePattern}, kept here as a point of reference.
+     */
+    static String scanningFormat(final String messagePattern, final Object[] argArray) {
+        int i = 0;
+        int j;
+        StringBuilder sbuf = new StringBuilder(messagePattern.length() + 50);
+
+        int L;
+        for (L = 0; L < argArray.length; L++) {
+            j = messagePattern.indexOf(MessageFormatter.DELIM_STR, i);
+            if (j == -1) {
+                if (i == 0) {
+                    return messagePattern;
+                } else {
+                    sbuf.append(messagePattern, i, messagePattern.length());
+                    return sbuf.toString();
+                }
+            } else {
+                if (MessageFormatter.isEscapedDelimeter(messagePattern, j)) {
+                    if (!MessageFormatter.isDoubleEscaped(messagePattern, j)) {
+                        L--;
+                        sbuf.append(messagePattern, i, j - 1);
+                        sbuf.append(MessageFormatter.DELIM_START);
+                        i = j + 1;
+                    } else {
+                        sbuf.append(messagePattern, i, j - 1);
+                        sbuf.append(argArray[L]);
+                        i = j + 2;
+                    }
+                } else {
+                    sbuf.append(messagePattern, i, j);
+                    sbuf.append(argArray[L]);
+                    i = j + 2;
+                }
+            }
+        }
+        sbuf.append(messagePattern, i, messagePattern.length());
+        return sbuf.toString();
+    }
+}
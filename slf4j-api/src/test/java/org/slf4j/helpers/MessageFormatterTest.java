@@ -24,11 +24,14 @@
  */
 package org.slf4j.helpers;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
 import java.util.Arrays;
 
 import org.junit.Test;
 
 import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
 
 /**
  * @author Ceki Gulcu
@@ -43,6 +46,11 @@ public class MessageFormatterTest {
 
     String result;
 
+    static final int ALLOCATION_RUN_LENGTH = 1000;
+
+    // Strings and Booleans are converted by toString() without allocation
+    Object[] scalarArgs = new Object[] { "a", Boolean.TRUE, "c" };
+
     @Test
     public void testNull() {
         result = MessageFormatter.format(null, i1).getMessage();
@@ -327,4 +335,163 @@ public class MessageFormatterTest {
         assertEquals(t, ft.getThrowable());
 
     }
+    @Test
+    public void compiledPatternIsReusedAcrossArgumentCounts() {
+        String pattern = "a \\{} b={} c \\\\{} d \\{} e={}";
+
+        assertEquals(pattern, MessageFormatter.arrayFormat(pattern, new Object[] {}).getMessage());
+        assertEquals("a {} b=1 c \\\\{} d \\{} e={}", MessageFormatter.arrayFormat(pattern, new Object[] { i1 }).getMessage());
+        assertEquals("a {} b=1 c \\2 d \\{} e={}", MessageFormatter.arrayFormat(pattern, new Object[] { i1, i2 }).getMessage());
+        assertEquals("a {} b=1 c \\2 d {} e=3", MessageFormatter.arrayFormat(pattern, new Object[] { i1, i2, i3 }).getMessage());
+        assertEquals("a {} b=1 c \\2 d {} e=3", MessageFormatter.arrayFormat(pattern, new Object[] { i1, i2, i3, i1 }).getMessage());
+
+        // equal but distinct pattern instances must yield the same result
+        String copy = new String(pattern);
+        assertEquals("a {} b=1 c \\2 d {} e=3", MessageFormatter.arrayFormat(copy, new Object[] { i1, i2, i3 }).getMessage());
+    }
+
+    @Test
+    public void plainPatternIsReturnedAsIs() {
+        String pattern = "no anchors here";
+        assertSame(pattern, MessageFormatter.format(pattern, i1).getMessage());
+        assertSame(pattern, MessageFormatter.format(pattern, i1).getMessage());
+    }
+    @Test
+    public void formatToAppendsToExistingContent() {
+        StringBuilder sb = new StringBuilder("prefix ");
+        MessageFormatter.formatTo(sb, "Value is {}.", i3);
+        assertEquals("prefix Value is 3.", sb.toString());
+
+        sb.setLength(0);
+        MessageFormatter.formatTo(sb, "Val1 is {}, val2 is {}.", i1, i2);
+        assertEquals("Val1 is 1, val2 is 2.", sb.toString());
+
+        sb.setLength(0);
+        MessageFormatter.formatTo(sb, "Val1 is {}, val2 is {}, val3 is {}", i1, i2, i3);
+        assertEquals("Val1 is 1, val2 is 2, val3 is 3", sb.toString());
+
+        sb.setLength(0);
+        MessageFormatter.formatTo(sb, null, i1);
+        assertEquals("null", sb.toString());
+    }
+
+    @Test
+    public void formatToMatchesArrayFormat() {
+        String[] patterns = new String[] { "", "{}", "{}{}", "{}{}{}", "x", "\\{}", "\\{}{}", "\\\\{}", "a {} b", "a {} b {} c", "a \\{} {} b",
+                "{} a \\{}" };
+        for (String pattern : patterns) {
+            StringBuilder sb = new StringBuilder();
+            MessageFormatter.formatTo(sb, pattern, i1);
+            assertEquals(pattern, MessageFormatter.basicArrayFormat(pattern, new Object[] { i1 }), sb.toString());
+
+            sb.setLength(0);
+            MessageFormatter.formatTo(sb, pattern, i1, i2);
+            assertEquals(pattern, MessageFormatter.basicArrayFormat(pattern, new Object[] { i1, i2 }), sb.toString());
+
+            sb.setLength(0);
+            MessageFormatter.formatTo(sb, pattern, ia0);
+            assertEquals(pattern, MessageFormatter.basicArrayFormat(pattern, ia0), sb.toString());
+        }
+    }
+
+    @Test
+    public void scalarArgumentsDoNotAllocate() {
+        assumeAllocationCounting();
+        StringBuilder sb = new StringBuilder(256);
+        String pattern = "Val1 is {}, val2 is {}, val3 is {}";
+
+        // warm up, caching the compiled pattern and linking call sites
+        formatScalarArgs(sb, pattern);
+
+        long before = currentThreadAllocatedBytes();
+        formatScalarArgs(sb, pattern);
+        long allocated = currentThreadAllocatedBytes() - before;
+        assertEquals("Val1 is a, val2 is true, val3 is c", sb.toString());
+        assertTrue("allocated " + allocated + " bytes", allocated < ALLOCATION_RUN_LENGTH);
+    }
+
+    private void formatScalarArgs(StringBuilder sb, String pattern) {
+        for (int i = 0; i < ALLOCATION_RUN_LENGTH; i++) {
+            sb.setLength(0);
+            MessageFormatter.formatTo(sb, pattern, scalarArgs);
+        }
+    }
+
+    @Test
+    public void oneAndTwoScalarArgumentsDoNotAllocate() {
+        assumeAllocationCounting();
+        StringBuilder sb = new StringBuilder(256);
+        String pattern1 = "Value is {}.";
+        String pattern2 = "Val1 is {}, val2 is {}.";
+
+        // warm up, caching the compiled patterns and linking call sites
+        formatOneAndTwoScalarArgs(sb, pattern1, pattern2);
+
+        long before = currentThreadAllocatedBytes();
+        formatOneAndTwoScalarArgs(sb, pattern1, pattern2);
+        long allocated = currentThreadAllocatedBytes() - before;
+        assertEquals("Value is a.Val1 is a, val2 is false.", sb.toString());
+        assertTrue("allocated " + allocated + " bytes", allocated < ALLOCATION_RUN_LENGTH);
+    }
+
+    private void formatOneAndTwoScalarArgs(StringBuilder sb, String pattern1, String pattern2) {
+        for (int i = 0; i < ALLOCATION_RUN_LENGTH; i++) {
+            sb.setLength(0);
+            MessageFormatter.formatTo(sb, pattern1, "a");
+            MessageFormatter.formatTo(sb, pattern2, "a", Boolean.FALSE);
+        }
+    }
+
+    @Test
+    public void objectArrayArgumentsStillDetectCycles() {
+        Object[] a = new Object[] { "x", null };
+        Object[] b = new Object[] { a, a };
+        a[1] = b;
+        StringBuilder sb = new StringBuilder();
+        MessageFormatter.formatTo(sb, "{}", new Object[] { b });
+        assertEquals("[[x, [...]], [x, [...]]]", sb.toString());
+    }
+
+    @Test
+    public void basicArrayFormatOnlyAllocatesTheResult() {
+        assumeAllocationCounting();
+        Object[] cyclic = new Object[] { "x", null };
+        cyclic[1] = cyclic;
+        Object[] args = new Object[] { new Object[] { "a", new Object[] { "b", Boolean.TRUE } }, cyclic };
+        String pattern = "{} and {}";
+        String expected = "[a, [b, true]] and [x, [...]]";
+
+        // warm up, caching the compiled pattern and linking call sites
+        formatArrayArgs(pattern, args);
+
+        long before = currentThreadAllocatedBytes();
+        formatArrayArgs(pattern, args);
+        long allocated = currentThreadAllocatedBytes() - before;
+        assertEquals(expected, MessageFormatter.basicArrayFormat(pattern, args));
+        assertEquals(expected, MessageFormatter.arrayFormat(pattern, args).getMessage());
+        // per call, the resulting String and, for each array argument, the
+        // path of the enclosing arrays
+        long bound = ALLOCATION_RUN_LENGTH * (expected.length() * 2 + 64L + args.length * 64L);
+        assertTrue("allocated " + allocated + " bytes", allocated < bound);
+    }
+
+    private void formatArrayArgs(String pattern, Object[] args) {
+        for (int i = 0; i < ALLOCATION_RUN_LENGTH; i++) {
+            MessageFormatter.basicArrayFormat(pattern, args);
+        }
+    }
+
+    static void assumeAllocationCounting() {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        assumeTrue(threadMXBean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean sunThreadMXBean = (com.sun.management.ThreadMXBean) threadMXBean;
+        assumeTrue(sunThreadMXBean.isThreadAllocatedMemorySupported() && sunThreadMXBean.isThreadAllocatedMemoryEnabled());
+        // the first invocation may allocate
+        currentThreadAllocatedBytes();
+    }
+
+    static long currentThreadAllocatedBytes() {
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
 }
@@ -24,6 +24,9 @@
  */
 package org.slf4j.helpers;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -40,6 +43,9 @@ import java.util.Set;
 import org.junit.Test;
 import org.slf4j.Logger;
 import org.slf4j.event.EventRecodingLogger;
+import org.slf4j.event.LoggingEvent;
+import org.slf4j.event.LoggingEventAware;
+import org.slf4j.event.SubstituteLoggingEvent;
 import org.slf4j.helpers.SubstituteLogger;
 
 /**
@@ -70,6 +76,70 @@ public class SubstitutableLoggerTest {
         }
     }
 
+    @Test
+    public void eventAwareDelegateReceivesEvents() {
+        SubstituteLogger substituteLogger = new SubstituteLogger("foo", null, false);
+        LoggerInvocationHandler ih = new LoggerInvocationHandler();
+        Logger proxyLogger = (Logger) Proxy.newProxyInstance(getClass().getClassLoader(),
+                        new Class[] { Logger.class, LoggingEventAware.class }, ih);
+        substituteLogger.setDelegate(proxyLogger);
+
+        assertTrue(substituteLogger.isDelegateEventAware());
+        substituteLogger.log(new SubstituteLoggingEvent());
+        assertTrue(ih.getInvokedMethodSignatures().contains("[log, LoggingEvent]"));
+    }
+
+    @Test
+    public void legacyEventAwareDelegateReceivesEvents() {
+        SubstituteLogger substituteLogger = new SubstituteLogger("foo", null, false);
+        LegacyEventAwareLogger delegate = new LegacyEventAwareLogger();
+        substituteLogger.setDelegate(delegate);
+
+        assertTrue(substituteLogger.isDelegateEventAware());
+        SubstituteLoggingEvent event = new SubstituteLoggingEvent();
+        substituteLogger.log(event);
+        assertEquals(1, delegate.events.size());
+        assertSame(event, delegate.events.get(0));
+    }
+
+    @Test
+    public void eventAwarenessFollowsTheDelegate() {
+        SubstituteLogger substituteLogger = new SubstituteLogger("foo", null, false);
+        substituteLogger.setDelegate(NOPLogger.NOP_LOGGER);
+        assertFalse(substituteLogger.isDelegateEventAware());
+
+        substituteLogger.setDelegate(new LegacyEventAwareLogger());
+        assertTrue(substituteLogger.isDelegateEventAware());
+    }
+
+    @Test
+    public void delegateFailuresAreNotPropagated() {
+        SubstituteLogger substituteLogger = new SubstituteLogger("foo", null, false);
+        LegacyEventAwareLogger delegate = new LegacyEventAwareLogger();
+        delegate.failure = new IllegalStateException("replay failure reported as expected");
+        substituteLogger.setDelegate(delegate);
+
+        substituteLogger.log(new SubstituteLoggingEvent());
+        assertEquals(1, delegate.events.size());
+    }
+
+    /**
+     * Declares log(LoggingEvent) without implementing LoggingEventAware.
+     */
+    public static class LegacyEventAwareLogger extends NOPLogger {
+        private static final long serialVersionUID = 1L;
+
+        final List<LoggingEvent> events = new ArrayList<LoggingEvent>();
+        RuntimeException failure;
+
+        public void log(LoggingEvent event) {
+            events.add(event);
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
     private void invokeMethods(Logger proxyLogger) throws InvocationTargetException, IllegalAccessException {
         for (Method m : Logger.class.getDeclaredMethods()) {
         	if (!EXCLUDED_METHODS.contains(m.getName())) {
@@ -0,0 +1,194 @@
+package org.slf4j.helpers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Test;
+import org.slf4j.event.Level;
+import org.slf4j.event.SubstituteLoggingEvent;
+import org.slf4j.helpers.SubstituteEventQueue.OverflowPolicy;
+
+public class SubstituteEventQueueTest {
+
+    static SubstituteLoggingEvent event(Level level, String message) {
+        SubstituteLoggingEvent event = new SubstituteLoggingEvent();
+        event.setLevel(level);
+        event.setMessage(message);
+        return event;
+    }
+
+    static List<String> drain(SubstituteEventQueue queue) {
+        List<SubstituteLoggingEvent> events = new ArrayList<SubstituteLoggingEvent>();
+        queue.drainTo(events, Integer.MAX_VALUE);
+        List<String> messages = new ArrayList<String>();
+        for (SubstituteLoggingEvent event : events) {
+            messages.add(event.getMessage());
+        }
+        return messages;
+    }
+
+    @Test
+    public void eventsAreQueuedInOrder() {
+        SubstituteEventQueue queue = new SubstituteEventQueue(3, OverflowPolicy.KEEP_FIRST);
+        // several rounds around the ring
+        for (int i = 0; i < 10; i++) {
+            assertTrue(queue.offer(event(Level.INFO, "a" + i)));
+            assertTrue(queue.add(event(Level.INFO, "b" + i)));
+            assertEquals(2, queue.size());
+            assertEquals("a" + i, queue.peek().getMessage());
+            assertEquals("a" + i, queue.poll().getMessage());
+            assertEquals("b" + i, queue.poll().getMessage());
+            assertNull(queue.poll());
+        }
+        assertEquals(0, queue.getDroppedCount());
+    }
+
+    @Test
+    public void keepFirst() {
+        SubstituteEventQueue queue = new SubstituteEventQueue(2, OverflowPolicy.KEEP_FIRST);
+        queue.add(event(Level.INFO, "1"));
+        queue.add(event(Level.INFO, "2"));
+        assertFalse(queue.add(event(Level.ERROR, "3")));
+        assertEquals(1, queue.getDroppedCount());
+        assertEquals(java.util.Arrays.asList("1", "2"), drain(queue));
+    }
+
+    @Test
+    public void keepLast() {
+        SubstituteEventQueue queue = new SubstituteEventQueue(2, OverflowPolicy.KEEP_LAST);
+        for (int i = 1; i <= 5; i++) {
+            assertTrue(queue.add(event(Level.DEBUG, String.valueOf(i))));
+        }
+        assertEquals(3, queue.getDroppedCount());
+        assertEquals(java.util.Arrays.asList("4", "5"), drain(queue));
+    }
+
+    @Test
+    public void dropBelowWarn() {
+        SubstituteEventQueue queue = new SubstituteEventQueue(2, OverflowPolicy.DROP_BELOW_WARN);
+        queue.add(event(Level.DEBUG, "1"));
+        queue.add(event(Level.INFO, "2"));
+        assertFalse(queue.add(event(Level.INFO, "3")));
+        assertTrue(queue.add(event(Level.WARN, "4")));
+        assertTrue(queue.add(event(Level.ERROR, "5")));
+        assertEquals(3, queue.getDroppedCount());
+        assertEquals(java.util.Arrays.asList("4", "5"), drain(queue));
+    }
+
+    @Test
+    public void clearResetsTheDroppedCount() {
+        SubstituteEventQueue queue = new SubstituteEventQueue(2, OverflowPolicy.KEEP_FIRST);
+        queue.add(event(Level.INFO, "1"));
+        queue.add(event(Level.INFO, "2"));
+        queue.add(event(Level.INFO, "3"));
+        assertEquals(1, queue.getDroppedCount());
+        queue.clear();
+        assertEquals(0, queue.size());
+        assertEquals(0, queue.getDroppedCount());
+    }
+
+    @Test
+    public void collectionViewsFollowTheIterator() {
+        SubstituteEventQueue queue = new SubstituteEventQueue(3, OverflowPolicy.KEEP_LAST);
+        SubstituteLoggingEvent[] events = new SubstituteLoggingEvent[5];
+        for (int i = 0; i < events.length; i++) {
+            events[i] = event(Level.INFO, String.valueOf(i));
+            queue.add(events[i]);
+        }
+        // wrapped around the ring
+        assertFalse(queue.contains(events[1]));
+        assertTrue(queue.contains(events[3]));
+        assertEquals(3, queue.toArray().length);
+
+        assertTrue(queue.remove(events[3]));
+        assertFalse(queue.contains(events[3]));
+        assertEquals(java.util.Arrays.asList("2", "4"), drain(queue));
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void removedEventsAreSkipped() {
+        SubstituteEventQueue queue = new SubstituteEventQueue(2, OverflowPolicy.KEEP_LAST);
+        SubstituteLoggingEvent first = event(Level.INFO, "1");
+        queue.add(first);
+        queue.add(event(Level.INFO, "2"));
+        queue.remove(first);
+        assertEquals("2", queue.peek().getMessage());
+        // evicting the tombstone does not count as a drop
+        queue.add(event(Level.INFO, "3"));
+        assertEquals(0, queue.getDroppedCount());
+        assertEquals(java.util.Arrays.asList("2", "3"), drain(queue));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void singleSlotIsRejected() {
+        new SubstituteEventQueue(1, OverflowPolicy.KEEP_FIRST);
+    }
+
+    @Test
+    public void concurrentProducersLoseNothing() throws InterruptedException {
+        final int threadCount = 8;
+        final int eventsPerThread = 2000;
+        final SubstituteEventQueue queue = new SubstituteEventQueue(threadCount * eventsPerThread, OverflowPolicy.KEEP_FIRST);
+        final CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[threadCount];
+        for (int t = 0; t < threadCount; t++) {
+            final int id = t;
+            threads[t] = new Thread(new Runnable() {
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int i = 0; i < eventsPerThread; i++) {
+                        queue.add(event(Level.INFO, id + "-" + i));
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        List<String> messages = drain(queue);
+        assertEquals(threadCount * eventsPerThread, messages.size());
+        assertEquals(threadCount * eventsPerThread, new HashSet<String>(messages).size());
+        assertEquals(0, queue.getDroppedCount());
+    }
+
+    @Test
+    public void concurrentProducersKeepingLastStayWithinCapacity() throws InterruptedException {
+        final int capacity = 64;
+        final SubstituteEventQueue queue = new SubstituteEventQueue(capacity, OverflowPolicy.KEEP_LAST);
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(new Runnable() {
+                public void run() {
+                    for (int i = 0; i < 5000; i++) {
+                        queue.add(event(Level.INFO, "m"));
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        List<String> messages = drain(queue);
+        assertEquals(capacity, messages.size());
+        assertEquals(threads.length * 5000 - capacity, queue.getDroppedCount());
+        Set<String> distinct = new HashSet<String>(messages);
+        assertEquals(1, distinct.size());
+    }
+}
@@ -0,0 +1,67 @@
+package org.slf4j.helpers;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Ignore;
+import org.junit.Test;
+
+/**
+ * Measures SubstituteLoggerFactory.getLogger with many threads asking for the
+ * same loggers at once, as happens during a parallel startup while the
+ * provider is still initializing.
+ */
+@Ignore
+public class SubstituteLoggerFactoryPerfTest {
+
+    static final int CONTENDED_THREAD_COUNT = 64;
+    static final int LOGGER_NAME_COUNT = 256;
+    static final int CALLS_PER_THREAD = 20000;
+
+    final String loggerName = this.getClass().getName();
+
+    @Test
+    public void contendedLookup() throws Exception {
+        // warm up
+        measureLookup();
+        double avg = measureLookup();
+        System.out.println("Average cost per getLogger call (" + CONTENDED_THREAD_COUNT + " threads): " + avg + " nanos");
+    }
+
+    double measureLookup() throws Exception {
+        final SubstituteLoggerFactory factory = new SubstituteLoggerFactory();
+        final String[] names = new String[LOGGER_NAME_COUNT];
+        for (int i = 0; i < LOGGER_NAME_COUNT; i++) {
+            names[i] = loggerName + "-" + i;
+        }
+        final CountDownLatch go = new CountDownLatch(1);
+        Thread[] threads = new Thread[CONTENDED_THREAD_COUNT];
+        for (int t = 0; t < CONTENDED_THREAD_COUNT; t++) {
+            final int offset = t;
+            threads[t] = new Thread(new Runnable() {
+                public void run() {
+                    try {
+                        go.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int i = 0; i < CALLS_PER_THREAD; i++) {
+                        factory.getLogger(names[(offset + i) % LOGGER_NAME_COUNT]);
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        // the clock starts before any thread is let go
+        long start = System.nanoTime();
+        go.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long end = System.nanoTime();
+
+        assertEquals(LOGGER_NAME_COUNT, factory.getLoggerNames().size());
+        return (end - start) * 1.0 / ((long) CONTENDED_THREAD_COUNT * CALLS_PER_THREAD);
+    }
+}
@@ -26,6 +26,7 @@ package org.slf4j.helpers;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
@@ -34,6 +35,7 @@ import org.slf4j.Logger;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
 
 public class SubstituteLoggerFactoryTest {
     private SubstituteLoggerFactory factory = new SubstituteLoggerFactory();
@@ -73,4 +75,35 @@ public class SubstituteLoggerFactoryTest {
         assertEquals(expectedNames, actualNames);
     }
 
+    @Test
+    public void concurrentLookupsReturnTheSameLogger() throws Exception {
+        final int threadCount = 8;
+        final Logger[] loggers = new Logger[threadCount];
+        final CountDownLatch go = new CountDownLatch(1);
+        Thread[] threads = new Thread[threadCount];
+        for (int t = 0; t < threadCount; t++) {
+            final int index = t;
+            threads[t] = new Thread(new Runnable() {
+                public void run() {
+                    try {
+                        go.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    loggers[index] = factory.getLogger("foo");
+                }
+            });
+            threads[t].start();
+        }
+        go.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        for (Logger logger : loggers) {
+            assertSame(loggers[0], logger);
+        }
+        assertEquals(1, factory.getLoggerNames().size());
+    }
+
 }
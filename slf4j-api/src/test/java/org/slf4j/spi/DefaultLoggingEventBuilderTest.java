@@ -0,0 +1,181 @@
+package org.slf4j.spi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Marker;
+import org.slf4j.event.DefaultLoggingEvent;
+import org.slf4j.event.Level;
+import org.slf4j.event.LoggingEvent;
+import org.slf4j.event.LoggingEventAware;
+import org.slf4j.helpers.BasicMarkerFactory;
+import org.slf4j.helpers.LegacyAbstractLogger;
+import org.slf4j.helpers.MessageFormatter;
+import org.slf4j.helpers.NormalizedParameters;
+
+public class DefaultLoggingEventBuilderTest {
+
+    RecordingLogger logger = new RecordingLogger();
+    boolean oldRecycle;
+
+    @Before
+    public void setUp() {
+        oldRecycle = DefaultLoggingEventBuilder.RECYCLE;
+        DefaultLoggingEventBuilder.RECYCLE = true;
+    }
+
+    @After
+    public void tearDown() {
+        DefaultLoggingEventBuilder.RECYCLE = oldRecycle;
+    }
+
+    @Test
+    public void builderIsReusedOnceLogged() {
+        LoggingEventBuilder first = logger.atInfo();
+        first.addArgument("a").log("{}");
+        LoggingEventBuilder second = logger.atWarn();
+        assertSame(first, second);
+        second.log("b");
+
+        assertEquals(2, logger.messages.size());
+        assertEquals("a", logger.messages.get(0));
+        assertEquals("b", logger.messages.get(1));
+        assertEquals(Level.WARN, logger.levels.get(1));
+    }
+
+    @Test
+    public void builderIsNotReusedWithoutRecycling() {
+        DefaultLoggingEventBuilder.RECYCLE = false;
+        LoggingEventBuilder first = logger.atInfo();
+        first.log("a");
+        assertNotSame(first, logger.atInfo());
+    }
+
+    @Test
+    public void nestedLoggingCallsGetTheirOwnBuilder() {
+        Object nested = new Object() {
+            @Override
+            public String toString() {
+                logger.atDebug().addArgument("inner").log("{}");
+                return "outer";
+            }
+        };
+        logger.atInfo().addArgument(nested).log("{}");
+
+        assertEquals("inner", logger.messages.get(0));
+        assertEquals("outer", logger.messages.get(1));
+    }
+
+    @Test
+    public void clearedEventCarriesNoDataFromPreviousCall() {
+        Marker blue = new BasicMarkerFactory().getMarker("BLUE");
+        logger.atInfo().addMarker(blue).addArgument(1).addKeyValue("k", "v").setCause(new Exception()).log("{}");
+        logger.atInfo().log("plain");
+
+        LoggingEvent event = logger.retainedEvents.get(1);
+        assertNull(event.getMarkers());
+        assertNull(event.getArguments());
+        assertNull(event.getArgumentArray());
+        assertNull(event.getKeyValuePairs());
+        assertNull(event.getThrowable());
+    }
+
+    @Test
+    public void retainedEventSurvivesRecycling() {
+        logger.atInfo().addArgument("a").addArgument(2).addKeyValue("k", 3L).log("{} {}");
+        logger.atInfo().addArgument("b").log("{}");
+
+        LoggingEvent first = logger.retainedEvents.get(0);
+        assertEquals("{} {}", first.getMessage());
+        assertEquals(Level.INFO, first.getLevel());
+        assertEquals("a", first.getArgumentArray()[0]);
+        assertEquals(2, first.getArgumentArray()[1]);
+        assertEquals(3L, first.getKeyValuePairs().get(0).value);
+    }
+
+    @Test
+    public void suppliersOfFilteredEventsAreNotInvoked() {
+        AtomicInteger invocations = new AtomicInteger();
+        logger.dropped = true;
+        logger.atInfo().addArgument(() -> invocations.incrementAndGet()).addKeyValue("k", () -> invocations.incrementAndGet()).log("{}");
+        assertEquals(0, invocations.get());
+
+        logger.dropped = false;
+        logger.atInfo().addArgument(() -> invocations.incrementAndGet()).log("{}");
+        assertEquals(1, invocations.get());
+        assertEquals("1", logger.messages.get(0));
+    }
+
+    static class RecordingLogger extends LegacyAbstractLogger implements LoggingEventAware {
+
+        private static final long serialVersionUID = 1L;
+
+        List<String> messages = new ArrayList<>();
+        List<Level> levels = new ArrayList<>();
+        List<LoggingEvent> retainedEvents = new ArrayList<>();
+        boolean dropped;
+
+        @Override
+        public String getName() {
+            return "recording";
+        }
+
+        @Override
+        public void log(LoggingEvent event) {
+            if (dropped) {
+                return;
+            }
+            retainedEvents.add(DefaultLoggingEvent.retain(event));
+            NormalizedParameters np = NormalizedParameters.normalize(event);
+            StringBuilder sb = new StringBuilder();
+            MessageFormatter.formatTo(sb, np);
+            messages.add(sb.toString());
+            levels.add(event.getLevel());
+        }
+
+        @Override
+        protected String getFullyQualifiedCallerName() {
+            return null;
+        }
+
+        @Override
+        protected void handleNormalizedLoggingCall(Level level, Marker marker, String msg, Object[] arguments, Throwable throwable) {
+            messages.add(MessageFormatter.basicArrayFormat(msg, arguments));
+            levels.add(level);
+        }
+
+        @Override
+        public boolean isTraceEnabled() {
+            return true;
+        }
+
+        @Override
+        public boolean isDebugEnabled() {
+            return true;
+        }
+
+        @Override
+        public boolean isInfoEnabled() {
+            return true;
+        }
+
+        @Override
+        public boolean isWarnEnabled() {
+            return true;
+        }
+
+        @Override
+        public boolean isErrorEnabled() {
+            return true;
+        }
+    }
+}
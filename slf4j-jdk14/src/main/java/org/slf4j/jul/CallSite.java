@@ -0,0 +1,68 @@
+package org.slf4j.jul;
+
+/**
+ * The call site of a logging statement, i.e. the first stack frame past the
+ * SLF4J barrier classes, captured when a {@link DeferredLogRecord} is created.
+ *
+ * <p>This version captures a {@link Throwable}, whose stack trace is extracted
+ * and searched only when the caller is first asked for. On Java 9 and later it
+ * is superseded by a version walking the stack with
+ * <code>java.lang.StackWalker</code> as soon as the record is created.
+ *
+ * <p>Instances are not thread-safe, {@link DeferredLogRecord} guards them.
+ *
+ * @author Ceki G&uuml;lc&uuml;
+ * @since 2.0.0
+ */
+final class CallSite {
+
+	private final String callerFQCN;
+
+	// null once resolved
+	private Throwable throwable;
+	private String className;
+	private String methodName;
+
+	private CallSite(String callerFQCN, Throwable throwable) {
+		this.callerFQCN = callerFQCN;
+		this.throwable = throwable;
+	}
+
+	static CallSite capture(String callerFQCN) {
+		return new CallSite(callerFQCN, new Throwable());
+	}
+
+	String getClassName() {
+		resolve();
+		return className;
+	}
+
+	String getMethodName() {
+		resolve();
+		return methodName;
+	}
+
+	private void resolve() {
+		if (throwable == null) {
+			return;
+		}
+		StackTraceElement[] steArray = throwable.getStackTrace();
+		throwable = null;
+
+		int selfIndex = -1;
+		for (int i = 0; i < steArray.length; i++) {
+			if (JDK14LoggerAdapter.barrierMatch(callerFQCN, steArray[i].getClassName())) {
+				selfIndex = i;
+				break;
+			}
+		}
+
+		for (int i = selfIndex + 1; i < steArray.length; i++) {
+			if (!JDK14LoggerAdapter.barrierMatch(callerFQCN, steArray[i].getClassName())) {
+				className = steArray[i].getClassName();
+				methodName = steArray[i].getMethodName();
+				break;
+			}
+		}
+	}
+}
@@ -0,0 +1,151 @@
+package org.slf4j.jul;
+
+import java.io.ObjectStreamException;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import org.slf4j.helpers.MessageFormatter;
+
+/**
+ * A {@link LogRecord} which infers its caller, i.e. source class and method,
+ * only if a handler, filter or formatter asks for it. Optionally, formatting
+ * the message is deferred as well.
+ *
+ * <p>The call site is captured as a {@link CallSite} when the record is
+ * created: with <code>java.lang.StackWalker</code> on Java 9 and later, which stops at the
+ * first frame past the SLF4J barrier classes, or else as a {@link Throwable}
+ * whose stack trace is extracted and searched only on the first call to
+ * {@link #getSourceClassName()} or {@link #getSourceMethodName()}.
+ *
+ * <p>{@link LogRecord} would otherwise infer the caller by itself, from the
+ * stack of the thread asking for it, which is wrong for records handled
+ * asynchronously.
+ *
+ * <p>When created with a message pattern and its arguments, the message is
+ * formatted on the first call to {@link #getMessage()} and then retained.
+ * Records dropped by a {@link java.util.logging.Filter} or handled on another
+ * thread thus spare the logging thread the formatting cost. The arguments
+ * are rendered as they are at that time, which makes a difference for
+ * mutable arguments only. Formatting takes no lock: threads racing to format
+ * the message produce the same result.
+ *
+ * @author Ceki G&uuml;lc&uuml;
+ * @since 2.0.0
+ */
+class DeferredLogRecord extends LogRecord {
+
+	private static final long serialVersionUID = -2396325591376262183L;
+
+	// null once the caller is inferred or explicitly set
+	private transient CallSite callSite;
+
+	// null once the message is formatted or explicitly set
+	private transient volatile DeferredMessage deferredMessage;
+
+	DeferredLogRecord(Level level, String msg, String callerFQCN) {
+		super(level, msg);
+		this.callSite = CallSite.capture(callerFQCN);
+	}
+
+	/**
+	 * Create a record whose message is formatted from 'messagePattern' and
+	 * 'arguments' on demand.
+	 */
+	DeferredLogRecord(Level level, String messagePattern, Object[] arguments, String callerFQCN) {
+		this(level, (String) null, callerFQCN);
+		if (messagePattern != null) {
+			this.deferredMessage = new DeferredMessage(messagePattern, arguments);
+		}
+	}
+
+	@Override
+	public String getMessage() {
+		formatMessage();
+		return super.getMessage();
+	}
+
+	@Override
+	public void setMessage(String message) {
+		deferredMessage = null;
+		super.setMessage(message);
+	}
+
+	/**
+	 * Has the message been formatted or explicitly set yet?
+	 */
+	boolean isMessageFormatted() {
+		return deferredMessage == null;
+	}
+
+	private void formatMessage() {
+		DeferredMessage deferred = deferredMessage;
+		if (deferred == null) {
+			return;
+		}
+		super.setMessage(MessageFormatter.basicArrayFormat(deferred.messagePattern, deferred.arguments));
+		// publishes the message set above to threads reading null
+		deferredMessage = null;
+	}
+
+	@Override
+	public String getSourceClassName() {
+		inferCaller();
+		return super.getSourceClassName();
+	}
+
+	@Override
+	public void setSourceClassName(String sourceClassName) {
+		inferCaller();
+		super.setSourceClassName(sourceClassName);
+	}
+
+	@Override
+	public String getSourceMethodName() {
+		inferCaller();
+		return super.getSourceMethodName();
+	}
+
+	@Override
+	public void setSourceMethodName(String sourceMethodName) {
+		inferCaller();
+		super.setSourceMethodName(sourceMethodName);
+	}
+
+	/**
+	 * Has the caller been inferred or explicitly set yet?
+	 */
+	synchronized boolean isCallerInferred() {
+		return callSite == null;
+	}
+
+	private synchronized void inferCaller() {
+		if (callSite == null) {
+			return;
+		}
+		String sourceClassName = callSite.getClassName();
+		String sourceMethodName = callSite.getMethodName();
+		callSite = null;
+		// setting the class name, even to null, has the side effect of
+		// preventing LogRecord from inferring the caller by itself
+		super.setSourceClassName(sourceClassName);
+		super.setSourceMethodName(sourceMethodName);
+	}
+
+	private Object writeReplace() throws ObjectStreamException {
+		// neither the call site nor the arguments are serialized, the caller
+		// and the message must be known by now
+		inferCaller();
+		formatMessage();
+		return this;
+	}
+
+	private static final class DeferredMessage {
+		final String messagePattern;
+		final Object[] arguments;
+
+		DeferredMessage(String messagePattern, Object[] arguments) {
+			this.messagePattern = messagePattern;
+			this.arguments = arguments;
+		}
+	}
+}
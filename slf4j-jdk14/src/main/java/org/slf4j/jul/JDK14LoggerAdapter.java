@@ -24,19 +24,24 @@
  */
 package org.slf4j.jul;
 
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.LogRecord;
 
 import org.slf4j.Logger;
 import org.slf4j.Marker;
 import org.slf4j.event.EventConstants;
+import org.slf4j.event.KeyValuePair;
 import org.slf4j.event.LoggingEvent;
+import org.slf4j.event.LoggingEventAware;
+import org.slf4j.event.SubstituteLoggingEvent;
 import org.slf4j.helpers.AbstractLogger;
-import org.slf4j.helpers.FormattingTuple;
 import org.slf4j.helpers.LegacyAbstractLogger;
 import org.slf4j.helpers.MessageFormatter;
 import org.slf4j.helpers.NormalizedParameters;
 import org.slf4j.helpers.SubstituteLogger;
+import org.slf4j.helpers.Util;
+import org.slf4j.spi.DefaultLoggingEventBuilder;
 import org.slf4j.spi.LocationAwareLogger;
 
 /**
@@ -48,10 +53,23 @@ import org.slf4j.spi.LocationAwareLogger;
  * @author Ceki G&uuml;lc&uuml;
  * @author Peter Royal
  */
-public final class JDK14LoggerAdapter extends LegacyAbstractLogger implements LocationAwareLogger {
+public final class JDK14LoggerAdapter extends LegacyAbstractLogger implements LocationAwareLogger, LoggingEventAware {
 
 	private static final long serialVersionUID = -8053026990503422791L;
 
+	/**
+	 * System property which, when set to <code>true</code>, defers formatting
+	 * of messages logged through the classic API until a handler or formatter
+	 * asks for the message of the {@link LogRecord}. Handlers then see the
+	 * arguments as they are at that time.
+	 * 
+	 * @since 2.0.0
+	 */
+	public static final String DEFER_FORMATTING_PROPERTY = "slf4j.jul.deferFormatting";
+
+	// not final so that tests can toggle it
+	static boolean DEFER_FORMATTING = Util.safeGetBooleanSystemProperty(DEFER_FORMATTING_PROPERTY);
+
 	transient final java.util.logging.Logger logger;
 
 	// WARN: JDK14LoggerAdapter constructor should have only package access so
@@ -145,8 +163,14 @@ public final class JDK14LoggerAdapter extends LegacyAbstractLogger implements Lo
 			Throwable throwable) {
 		// millis and thread are filled by the constructor
 		Level julLevel = slf4jLevelToJULLevel(level);
-		String formattedMessage = MessageFormatter.basicArrayFormat(msg, args);
-		LogRecord record = new LogRecord(julLevel, formattedMessage);
+		// the caller is inferred only if asked for
+		LogRecord record;
+		if (DEFER_FORMATTING) {
+			record = new DeferredLogRecord(julLevel, msg, args, fqcn);
+		} else {
+			String formattedMessage = MessageFormatter.basicArrayFormat(msg, args);
+			record = new DeferredLogRecord(julLevel, formattedMessage, fqcn);
+		}
 
 		// https://jira.qos.ch/browse/SLF4J-13
 		record.setLoggerName(getName());
@@ -154,7 +178,6 @@ public final class JDK14LoggerAdapter extends LegacyAbstractLogger implements Lo
 		// Note: parameters in record are not set because SLF4J only
 		// supports a single formatting style
 		// See also https://jira.qos.ch/browse/SLF4J-10
-		fillCallerData(fqcn, record);
 		logger.log(record);
 	}
 
@@ -179,51 +202,16 @@ public final class JDK14LoggerAdapter extends LegacyAbstractLogger implements Lo
 	}
 
 	
-	/**
-	 * Fill in caller data if possible.
-	 * 
-	 * @param record The record to update
-	 */
-	final private void fillCallerData(String callerFQCN, LogRecord record) {
-		StackTraceElement[] steArray = new Throwable().getStackTrace();
-
-		int selfIndex = -1;
-		for (int i = 0; i < steArray.length; i++) {
-			final String className = steArray[i].getClassName();
-
-			if (barrierMatch(callerFQCN, className)) {
-				selfIndex = i;
-				break;
-			}
-		}
-
-		int found = -1;
-		for (int i = selfIndex + 1; i < steArray.length; i++) {
-			final String className = steArray[i].getClassName();
-			if (!(barrierMatch(callerFQCN, className))) {
-				found = i;
-				break;
-			}
-		}
-
-		if (found != -1) {
-			StackTraceElement ste = steArray[found];
-			// setting the class name has the side effect of setting
-			// the needToInferCaller variable to false.
-			record.setSourceClassName(ste.getClassName());
-			record.setSourceMethodName(ste.getMethodName());
-		}
-	}
-
 	static String SELF = JDK14LoggerAdapter.class.getName();
 	
 	static String SUPER = LegacyAbstractLogger.class.getName();
 	static String SUPER_OF_SUPER = AbstractLogger.class.getName();
 	static String SUBSTITUE = SubstituteLogger.class.getName();
+	static String FLUENT_API = DefaultLoggingEventBuilder.class.getName();
 
-	static String BARRIER_CLASSES[] = new String[] { SUPER_OF_SUPER, SUPER, SELF, SUBSTITUE };
+	static String BARRIER_CLASSES[] = new String[] { SUPER_OF_SUPER, SUPER, SELF, SUBSTITUE, FLUENT_API };
 
-	private boolean barrierMatch(String callerFQCN, String candidateClassName) {
+	static boolean barrierMatch(String callerFQCN, String candidateClassName) {
 		if (candidateClassName.equals(callerFQCN))
 			return true;
 		for (String barrierClassName : BARRIER_CLASSES) {
@@ -265,11 +253,14 @@ public final class JDK14LoggerAdapter extends LegacyAbstractLogger implements Lo
 	}
 
 	/**
+	 * Log an event of the fluent API, or one replayed by a {@link SubstituteLogger}
+	 * after initialization. Markers and key-value pairs, which have no
+	 * counterpart in java.util.logging, are rendered in front of the message.
+	 * 
 	 * @since 1.7.15
 	 */
+	@Override
 	public void log(LoggingEvent event) {
-		// assumes that the invocation is made from a substitute logger
-		// this assumption might change in the future with the advent of a fluent API
 		Level julLevel = slf4jLevelToJULLevel(event.getLevel());
 		if (logger.isLoggable(julLevel)) {
 			LogRecord record = eventToRecord(event, julLevel);
@@ -278,28 +269,44 @@ public final class JDK14LoggerAdapter extends LegacyAbstractLogger implements Lo
 	}
 
 	private LogRecord eventToRecord(LoggingEvent event, Level julLevel) {
-		String format = event.getMessage();
-		Object[] arguments = event.getArgumentArray();
-		FormattingTuple ft = MessageFormatter.arrayFormat(format, arguments);
-		if (ft.getThrowable() != null && event.getThrowable() != null) {
-			throw new IllegalArgumentException(
-					"both last element in argument array and last argument are of type Throwable");
-		}
-
-		Throwable t = event.getThrowable();
-		if (ft.getThrowable() != null) {
-			t = ft.getThrowable();
-			throw new IllegalStateException("fix above code");
+		NormalizedParameters np = NormalizedParameters.normalize(event);
+		Throwable t = np.getThrowable();
+
+		StringBuilder buf = new StringBuilder();
+		appendMarkersAndKeyValuePairs(buf, event);
+		MessageFormatter.formatTo(buf, np);
+
+		LogRecord record;
+		if (event instanceof SubstituteLoggingEvent) {
+			record = new LogRecord(julLevel, buf.toString());
+			// the caller is long gone
+			record.setMillis(event.getTimeStamp());
+			record.setSourceClassName(EventConstants.NA_SUBST);
+			record.setSourceMethodName(EventConstants.NA_SUBST);
+		} else {
+			// millis are filled by the constructor, the caller is inferred
+			// only if asked for
+			record = new DeferredLogRecord(julLevel, buf.toString(), FLUENT_API);
 		}
-
-		LogRecord record = new LogRecord(julLevel, ft.getMessage());
-		record.setLoggerName(event.getLoggerName());
-		record.setMillis(event.getTimeStamp());
-		record.setSourceClassName(EventConstants.NA_SUBST);
-		record.setSourceMethodName(EventConstants.NA_SUBST);
+		record.setLoggerName(event.getLoggerName() != null ? event.getLoggerName() : getName());
 
 		record.setThrown(t);
 		return record;
 	}
 
+	private static void appendMarkersAndKeyValuePairs(StringBuilder buf, LoggingEvent event) {
+		List<Marker> markers = event.getMarkers();
+		if (markers != null) {
+			for (Marker marker : markers) {
+				buf.append(marker).append(' ');
+			}
+		}
+		List<KeyValuePair> keyValuePairs = event.getKeyValuePairs();
+		if (keyValuePairs != null) {
+			for (KeyValuePair keyValuePair : keyValuePairs) {
+				buf.append(keyValuePair.key).append('=').append(keyValuePair.value).append(' ');
+			}
+		}
+	}
+
 }
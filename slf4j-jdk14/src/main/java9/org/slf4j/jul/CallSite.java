@@ -0,0 +1,62 @@
+package org.slf4j.jul;
+
+import java.util.Iterator;
+
+/**
+ * The call site of a logging statement, i.e. the first stack frame past the
+ * SLF4J barrier classes, captured when a {@link DeferredLogRecord} is created.
+ *
+ * <p>This version walks the stack with {@link StackWalker}, which only
+ * materializes the frames up to the caller, instead of capturing a
+ * {@link Throwable} and its whole stack trace. Unlike the Java 8 version, the
+ * walk cannot be deferred since the stack is gone once the logging call
+ * returns. It therefore takes place when the record is created, whether or
+ * not a handler or formatter ever asks for the caller. Walking a few frames
+ * costs less than filling in the stack trace of a {@link Throwable}.
+ *
+ * <p>As in the Java 8 version, if no barrier class is found on the stack, the
+ * first frame not belonging to a barrier class is retained.
+ *
+ * @author Ceki G&uuml;lc&uuml;
+ * @since 2.0.0
+ */
+final class CallSite {
+
+	private static final StackWalker WALKER = StackWalker.getInstance();
+
+	// null if every frame belongs to a barrier class
+	private final StackWalker.StackFrame caller;
+
+	private CallSite(StackWalker.StackFrame caller) {
+		this.caller = caller;
+	}
+
+	static CallSite capture(String callerFQCN) {
+		return new CallSite(WALKER.walk(frames -> findCaller(frames.iterator(), callerFQCN)));
+	}
+
+	private static StackWalker.StackFrame findCaller(Iterator<StackWalker.StackFrame> frames, String callerFQCN) {
+		boolean barrierFound = false;
+		StackWalker.StackFrame firstNonBarrier = null;
+		while (frames.hasNext()) {
+			StackWalker.StackFrame frame = frames.next();
+			if (JDK14LoggerAdapter.barrierMatch(callerFQCN, frame.getClassName())) {
+				barrierFound = true;
+			} else if (barrierFound) {
+				return frame;
+			} else if (firstNonBarrier == null) {
+				firstNonBarrier = frame;
+			}
+		}
+		// no frame past a barrier class
+		return barrierFound ? null : firstNonBarrier;
+	}
+
+	String getClassName() {
+		return caller == null ? null : caller.getClassName();
+	}
+
+	String getMethodName() {
+		return caller == null ? null : caller.getMethodName();
+	}
+}
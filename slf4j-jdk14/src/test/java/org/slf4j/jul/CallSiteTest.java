@@ -0,0 +1,114 @@
+package org.slf4j.jul;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import org.junit.Test;
+import org.slf4j.Logger;
+
+/**
+ * Tests the {@link CallSite} compiled for the running class path and, on Java
+ * 9 and later, the version packaged under META-INF/versions/9, which surefire
+ * does not load by itself.
+ */
+public class CallSiteTest {
+
+	static final String NO_SUCH_BARRIER = "no.such.Barrier";
+
+	@Test
+	public void noBarrierFallsBackToTheFirstFrame() {
+		assertEquals(CallSite.class.getName(), CallSite.capture(NO_SUCH_BARRIER).getClassName());
+	}
+
+	@Test
+	public void java9VersionFindsTheCaller() throws Exception {
+		File classesDir = new File(CallSite.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+		File versionDir = new File(classesDir, "META-INF/versions/9");
+		assumeTrue(!System.getProperty("java.specification.version").startsWith("1.")
+				&& new File(versionDir, "org/slf4j/jul/CallSite.class").isFile());
+
+		ClassLoader loader = new MultiReleaseClassLoader(classesDir, versionDir);
+		Class<?> callSiteClass = loader.loadClass(CallSite.class.getName());
+		// the StackWalker based version
+		assertNotNull(callSiteClass.getDeclaredMethod("findCaller", java.util.Iterator.class, String.class));
+
+		java.util.logging.Logger julLogger = java.util.logging.Logger.getLogger("callSite.java9");
+		julLogger.setUseParentHandlers(false);
+		julLogger.setLevel(Level.ALL);
+		ListHandler listHandler = new ListHandler();
+		julLogger.addHandler(listHandler);
+		try {
+			Constructor<?> constructor = loader.loadClass(JDK14LoggerAdapter.class.getName())
+					.getDeclaredConstructor(java.util.logging.Logger.class);
+			constructor.setAccessible(true);
+			Logger logger = (Logger) constructor.newInstance(julLogger);
+			logger.info("Hello");
+		} finally {
+			julLogger.removeHandler(listHandler);
+			julLogger.setUseParentHandlers(true);
+		}
+
+		LogRecord record = listHandler.recordList.get(0);
+		assertSame(loader, record.getClass().getClassLoader());
+		assertEquals(CallSiteTest.class.getName(), record.getSourceClassName());
+		assertEquals("java9VersionFindsTheCaller", record.getSourceMethodName());
+
+		Method capture = callSiteClass.getDeclaredMethod("capture", String.class);
+		capture.setAccessible(true);
+		Method getClassName = callSiteClass.getDeclaredMethod("getClassName");
+		getClassName.setAccessible(true);
+		Object callSite = capture.invoke(null, NO_SUCH_BARRIER);
+		assertEquals(CallSite.class.getName(), getClassName.invoke(callSite));
+	}
+
+	/**
+	 * Loads the classes of this package from the classes directory, preferring
+	 * their Java 9 version, as a multi-release jar would on Java 9 and later.
+	 */
+	static class MultiReleaseClassLoader extends ClassLoader {
+
+		private final File classesDir;
+		private final File versionDir;
+
+		MultiReleaseClassLoader(File classesDir, File versionDir) {
+			super(CallSiteTest.class.getClassLoader());
+			this.classesDir = classesDir;
+			this.versionDir = versionDir;
+		}
+
+		@Override
+		protected synchronized Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+			String path = name.replace('.', '/') + ".class";
+			File file = new File(versionDir, path);
+			if (!file.isFile()) {
+				file = new File(classesDir, path);
+			}
+			if (!name.startsWith("org.slf4j.jul.") || !file.isFile()) {
+				return super.loadClass(name, resolve);
+			}
+			Class<?> c = findLoadedClass(name);
+			if (c == null) {
+				try {
+					byte[] bytes = Files.readAllBytes(file.toPath());
+					c = defineClass(name, bytes, 0, bytes.length);
+				} catch (IOException e) {
+					throw new ClassNotFoundException(name, e);
+				}
+			}
+			if (resolve) {
+				resolveClass(c);
+			}
+			return c;
+		}
+	}
+}
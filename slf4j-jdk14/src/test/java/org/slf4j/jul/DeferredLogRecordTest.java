@@ -0,0 +1,136 @@
+package org.slf4j.jul;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class DeferredLogRecordTest {
+
+	Level oldLevel;
+	java.util.logging.Logger root = java.util.logging.Logger.getLogger("");
+	ListHandler listHandler = new ListHandler();
+	Logger logger = LoggerFactory.getLogger(DeferredLogRecordTest.class);
+
+	@Before
+	public void setUp() throws Exception {
+		oldLevel = root.getLevel();
+		root.setLevel(Level.FINE);
+		root.addHandler(listHandler);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		JDK14LoggerAdapter.DEFER_FORMATTING = false;
+		root.setLevel(oldLevel);
+		for (Handler h : root.getHandlers()) {
+			if (h instanceof ListHandler)
+				root.removeHandler(h);
+		}
+	}
+
+	@Test
+	public void callerIsInferredOnDemand() {
+		// below the level of the console handler, which would print the caller
+		logger.debug("Hello {}", "world");
+		DeferredLogRecord record = (DeferredLogRecord) listHandler.recordList.get(0);
+		assertFalse(record.isCallerInferred());
+
+		assertEquals(DeferredLogRecordTest.class.getName(), record.getSourceClassName());
+		assertEquals("callerIsInferredOnDemand", record.getSourceMethodName());
+		assertTrue(record.isCallerInferred());
+	}
+
+	@Test
+	public void callerInferredOnAnotherThread() throws InterruptedException {
+		logger.info("Hello");
+		final LogRecord record = listHandler.recordList.get(0);
+		final String[] sourceClassName = new String[1];
+		Thread thread = new Thread(new Runnable() {
+			public void run() {
+				sourceClassName[0] = record.getSourceClassName();
+			}
+		});
+		thread.start();
+		thread.join();
+		assertEquals(DeferredLogRecordTest.class.getName(), sourceClassName[0]);
+	}
+
+	@Test
+	public void explicitlySetCallerWins() {
+		logger.info("Hello");
+		LogRecord record = listHandler.recordList.get(0);
+		record.setSourceClassName("a.B");
+		assertEquals("a.B", record.getSourceClassName());
+		assertEquals("explicitlySetCallerWins", record.getSourceMethodName());
+	}
+
+	@Test
+	public void callerSurvivesSerialization() throws Exception {
+		logger.warn("Hello");
+		LogRecord record = listHandler.recordList.get(0);
+
+		ByteArrayOutputStream bout = new ByteArrayOutputStream();
+		ObjectOutputStream out = new ObjectOutputStream(bout);
+		out.writeObject(record);
+		out.close();
+		ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bout.toByteArray()));
+		LogRecord copy = (LogRecord) in.readObject();
+
+		assertEquals(DeferredLogRecordTest.class.getName(), copy.getSourceClassName());
+		assertEquals("callerSurvivesSerialization", copy.getSourceMethodName());
+		assertEquals("Hello", copy.getMessage());
+	}
+
+	@Test
+	public void messageIsFormattedEagerlyByDefault() {
+		logger.debug("Hello {}", "world");
+		DeferredLogRecord record = (DeferredLogRecord) listHandler.recordList.get(0);
+		assertTrue(record.isMessageFormatted());
+		assertEquals("Hello world", record.getMessage());
+	}
+
+	@Test
+	public void messageIsFormattedOnDemand() {
+		JDK14LoggerAdapter.DEFER_FORMATTING = true;
+		StringBuilder argument = new StringBuilder("world");
+		logger.debug("Hello {} {}", argument, 2);
+		DeferredLogRecord record = (DeferredLogRecord) listHandler.recordList.get(0);
+		assertFalse(record.isMessageFormatted());
+
+		argument.append('!');
+		assertEquals("Hello world! 2", record.getMessage());
+		assertTrue(record.isMessageFormatted());
+		assertEquals("Hello world! 2", record.getMessage());
+
+		record.setMessage("other");
+		assertEquals("other", record.getMessage());
+	}
+
+	@Test
+	public void deferredMessageSurvivesSerialization() throws Exception {
+		JDK14LoggerAdapter.DEFER_FORMATTING = true;
+		logger.debug("Hello {}", "world");
+		LogRecord record = listHandler.recordList.get(0);
+
+		ByteArrayOutputStream bout = new ByteArrayOutputStream();
+		ObjectOutputStream out = new ObjectOutputStream(bout);
+		out.writeObject(record);
+		out.close();
+		ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bout.toByteArray()));
+		assertEquals("Hello world", ((LogRecord) in.readObject()).getMessage());
+	}
+}
@@ -12,6 +12,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MarkerFactory;
 
 public class FluentApiInvocationTest {
 
@@ -86,6 +87,26 @@ public class FluentApiInvocationTest {
 		}
 	}
 
+	@Test
+	public void messageWithPrimitiveArguments() {
+		long count = 3000000000L;
+		double ratio = 0.25;
+		float f = 1.1f;
+		char c = 'c';
+		logger.atDebug().addArgument(count).addArgument(ratio).addArgument(f).addArgument(c).log("{} {} {} {}");
+		assertLogMessage("3000000000 0.25 1.1 c", 0);
+
+		logger.atDebug().addKeyValue("count", count).addKeyValue("c", c).log("done");
+		assertLogMessage("count=3000000000 c=c done", 1);
+	}
+
+	@Test
+	public void disabledPrimitiveArgumentsAreIgnored() {
+		root.setLevel(Level.INFO);
+		logger.atDebug().addArgument(1L).addKeyValue("k", 2.0).log("{}");
+		assertEquals(0, listHandler.recordList.size());
+	}
+
 	public int t16() {
 		return 16;
 	}
@@ -122,6 +143,16 @@ public class FluentApiInvocationTest {
 
 	}
 
+	@Test
+	public void callerDataIsFilled() {
+		logger.atInfo().addMarker(MarkerFactory.getMarker("BLUE")).log("Hello world.");
+		LogRecord logRecord = listHandler.recordList.get(0);
+		assertEquals("BLUE Hello world.", logRecord.getMessage());
+		assertEquals(logger.getName(), logRecord.getLoggerName());
+		assertEquals(FluentApiInvocationTest.class.getName(), logRecord.getSourceClassName());
+		assertEquals("callerDataIsFilled", logRecord.getSourceMethodName());
+	}
+
 	private void assertLogMessage(String expected, int index) {
 		LogRecord logRecord = listHandler.recordList.get(index);
 		Assert.assertNotNull(logRecord);
@@ -27,17 +27,22 @@ package org.slf4j.log4j12;
 import static org.slf4j.event.EventConstants.NA_SUBST;
 
 import java.io.Serializable;
+import java.util.List;
 
 import org.apache.log4j.Level;
 import org.apache.log4j.spi.LocationInfo;
 import org.apache.log4j.spi.ThrowableInformation;
 import org.slf4j.Logger;
 import org.slf4j.Marker;
+import org.slf4j.event.KeyValuePair;
 import org.slf4j.event.LoggingEvent;
+import org.slf4j.event.LoggingEventAware;
+import org.slf4j.event.SubstituteLoggingEvent;
 import org.slf4j.helpers.LegacyAbstractLogger;
 import org.slf4j.helpers.MessageFormatter;
 import org.slf4j.helpers.NormalizedParameters;
 import org.slf4j.helpers.SubstituteLogger;
+import org.slf4j.spi.DefaultLoggingEventBuilder;
 import org.slf4j.spi.LocationAwareLogger;
 
 /**
@@ -58,7 +63,7 @@ import org.slf4j.spi.LocationAwareLogger;
  * 
  * @author Ceki G&uuml;lc&uuml;
  */
-public final class Log4jLoggerAdapter extends LegacyAbstractLogger implements LocationAwareLogger, Serializable {
+public final class Log4jLoggerAdapter extends LegacyAbstractLogger implements LocationAwareLogger, LoggingEventAware, Serializable {
 
     private static final long serialVersionUID = 6182834493563598289L;
 
@@ -70,6 +75,8 @@ public final class Log4jLoggerAdapter extends LegacyAbstractLogger implements Lo
      */
     final static String FQCN = Log4jLoggerAdapter.class.getName();
 
+    final static String FLUENT_API_FQCN = DefaultLoggingEventBuilder.class.getName();
+
     // Does the log4j version in use recognize the TRACE level?
     // The trace level was introduced in log4j 1.2.12.
     final boolean traceCapable;
@@ -160,10 +167,15 @@ public final class Log4jLoggerAdapter extends LegacyAbstractLogger implements Lo
 		logger.log(getFullyQualifiedCallerName(), log4jLevel, formattedMessage, throwable);
 	}
 
-	/**
-	 * Called by {@link SubstituteLogger}
-	 * @param event
-	 */
+    /**
+     * Log an event of the fluent API, or one replayed by a
+     * {@link SubstituteLogger} after initialization. Markers and key-value
+     * pairs, which have no counterpart in log4j, are rendered in front of the
+     * message.
+     * 
+     * @param event
+     */
+    @Override
     public void log(LoggingEvent event) {
         Level log4jLevel = toLog4jLevel(event.getLevel().toInt());
         if (!logger.isEnabledFor(log4jLevel))
@@ -176,21 +188,42 @@ public final class Log4jLoggerAdapter extends LegacyAbstractLogger implements Lo
     
     private org.apache.log4j.spi.LoggingEvent toLog4jEvent(LoggingEvent event, Level log4jLevel) {
 
-        String formattedMessage = MessageFormatter.basicArrayFormat(event.getMessage(), event.getArgumentArray());
-
-        LocationInfo locationInfo = new LocationInfo(NA_SUBST, NA_SUBST, NA_SUBST, "0");
+        NormalizedParameters np = NormalizedParameters.normalize(event);
+        StringBuilder buf = new StringBuilder();
+        appendMarkersAndKeyValuePairs(buf, event);
+        MessageFormatter.formatTo(buf, np);
+        String formattedMessage = buf.toString();
 
         ThrowableInformation ti = null;
-        Throwable t = event.getThrowable();
+        Throwable t = np.getThrowable();
         if (t != null)
             ti = new ThrowableInformation(t);
 
-        org.apache.log4j.spi.LoggingEvent log4jEvent = new org.apache.log4j.spi.LoggingEvent(FQCN, logger, event.getTimeStamp(), log4jLevel, formattedMessage,
-                        event.getThreadName(), ti, null, locationInfo, null);
-
-        return log4jEvent;
+        if (event instanceof SubstituteLoggingEvent) {
+            // the caller is long gone
+            LocationInfo locationInfo = new LocationInfo(NA_SUBST, NA_SUBST, NA_SUBST, "0");
+            return new org.apache.log4j.spi.LoggingEvent(FQCN, logger, event.getTimeStamp(), log4jLevel, formattedMessage,
+                            event.getThreadName(), ti, null, locationInfo, null);
+        }
+        // location info is computed by log4j on demand, from the caller of the
+        // fluent API
+        return new org.apache.log4j.spi.LoggingEvent(FLUENT_API_FQCN, logger, log4jLevel, formattedMessage, t);
     }
 
+    private static void appendMarkersAndKeyValuePairs(StringBuilder buf, LoggingEvent event) {
+        List<Marker> markers = event.getMarkers();
+        if (markers != null) {
+            for (Marker marker : markers) {
+                buf.append(marker).append(' ');
+            }
+        }
+        List<KeyValuePair> keyValuePairs = event.getKeyValuePairs();
+        if (keyValuePairs != null) {
+            for (KeyValuePair keyValuePair : keyValuePairs) {
+                buf.append(keyValuePair.key).append('=').append(keyValuePair.value).append(' ');
+            }
+        }
+    }
 
 	
     private Level toLog4jLevel(int slf4jLevelInt) {
@@ -187,4 +187,20 @@ public class InvocationTest {
         assertEquals("vb", MDC.get("kb"));
     }
 
+    @Test
+    public void testFluentApi() {
+        listAppender.extractLocationInfo = true;
+        Logger logger = LoggerFactory.getLogger("testFluentApi");
+        Marker blue = MarkerFactory.getMarker("BLUE");
+        Exception e = new Exception("This is a test exception.");
+        logger.atWarn().addMarker(blue).addKeyValue("k", 1).setCause(e).log("Hello {}.", "world");
+
+        assertEquals(1, listAppender.list.size());
+        LoggingEvent event = listAppender.list.get(0);
+        assertEquals("BLUE k=1 Hello world.", event.getMessage());
+        assertEquals(e, event.getThrowableInformation().getThrowable());
+        assertEquals(InvocationTest.class.getName(), event.getLocationInformation().getClassName());
+        assertEquals("testFluentApi", event.getLocationInformation().getMethodName());
+    }
+
 }
@@ -0,0 +1,343 @@
+package org.slf4j.simple;
+
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.event.Level;
+import org.slf4j.helpers.Util;
+
+/**
+ * Writes the output of {@link SimpleLogger} on a background thread.
+ *
+ * <p>Logging threads publish rendered messages into a bounded ring buffer
+ * which is drained by a single writer thread. The writer flushes the target
+ * stream once per drained batch instead of once per message.
+ *
+ * <p>The ring buffer follows the classic bounded queue design where each slot
+ * carries a sequence number: producers claim a position by incrementing a
+ * shared cursor, fill the slot and then publish it by advancing its
+ * sequence. Since there is a single consumer, the reading cursor needs no
+ * synchronization while the writer runs. Once stopped, the buffer is drained
+ * under the lock of this writer, by the writer thread, by the thread calling
+ * {@link #stop()} or by a logging thread which published a message while the
+ * writer was stopping.
+ *
+ * @author Ceki G&uuml;lc&uuml;
+ * @since 2.0.0
+ */
+class AsyncWriter implements Runnable {
+
+	/**
+	 * How the writer thread waits for messages when the buffer is empty.
+	 */
+	enum WaitStrategy {
+		/**
+		 * Park until a producer signals the arrival of a message. Lowest CPU
+		 * usage, at the cost of a wake-up call on the logging thread.
+		 */
+		BLOCKING,
+		/**
+		 * Park for short periods without being signalled. Logging threads never
+		 * wake up the writer.
+		 */
+		SLEEPING,
+		/**
+		 * Yield the processor between checks. Lowest latency, at the cost of a
+		 * busy core.
+		 */
+		YIELDING;
+	}
+
+	/**
+	 * What a logging thread does when the buffer is full.
+	 */
+	enum QueueFullPolicy {
+		/**
+		 * Wait until the writer makes room.
+		 */
+		BLOCK,
+		/**
+		 * Discard TRACE, DEBUG and INFO messages, wait for room for the others.
+		 */
+		DROP_BELOW_WARN,
+		/**
+		 * Discard the message.
+		 */
+		DISCARD;
+	}
+
+	static final String THREAD_NAME = "slf4j-simple-async-writer";
+
+	// maximum number of messages written between two flushes
+	static final int MAX_BATCH_SIZE = 256;
+
+	private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+	private static final long SLEEP_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+	private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+	private final OutputChoice outputChoice;
+	private final WaitStrategy waitStrategy;
+	private final QueueFullPolicy queueFullPolicy;
+
+	private final int mask;
+	private final AtomicLongArray sequences;
+	private final String[] texts;
+	private final Throwable[] throwables;
+	private final SimpleLogger[] loggers;
+
+	// next position to be claimed by producers
+	private final AtomicLong tail = new AtomicLong();
+	// next position to be read by the writer, accessed by the writer thread
+	// only until stopped, then under the lock of this writer
+	private long head;
+
+	private final AtomicLong droppedCount = new AtomicLong();
+
+	private final Thread writerThread;
+	private volatile boolean writerWaiting;
+	private volatile boolean stopped;
+
+	AsyncWriter(OutputChoice outputChoice, int bufferSize, WaitStrategy waitStrategy, QueueFullPolicy queueFullPolicy) {
+		this.outputChoice = outputChoice;
+		this.waitStrategy = waitStrategy;
+		this.queueFullPolicy = queueFullPolicy;
+
+		int capacity = ceilingPowerOfTwo(bufferSize);
+		this.mask = capacity - 1;
+		this.sequences = new AtomicLongArray(capacity);
+		for (int i = 0; i < capacity; i++) {
+			sequences.set(i, i);
+		}
+		this.texts = new String[capacity];
+		this.throwables = new Throwable[capacity];
+		this.loggers = new SimpleLogger[capacity];
+
+		this.writerThread = new Thread(this, THREAD_NAME);
+		writerThread.setDaemon(true);
+	}
+
+	static int ceilingPowerOfTwo(int n) {
+		if (n <= 1) {
+			return 1;
+		}
+		int highest = Integer.highestOneBit(n - 1) << 1;
+		return highest <= 0 ? 1 << 30 : highest;
+	}
+
+	void start() {
+		writerThread.start();
+	}
+
+	int getCapacity() {
+		return mask + 1;
+	}
+
+	/**
+	 * Would a message offered now be rejected for lack of room?
+	 */
+	boolean isFull() {
+		long position = tail.get();
+		return sequences.get((int) position & mask) < position;
+	}
+
+	long getDroppedCount() {
+		return droppedCount.get();
+	}
+
+	/**
+	 * Hand over a message to the writer thread, or write it directly if the
+	 * writer is stopped or if the calling thread is the writer itself.
+	 */
+	void enqueue(SimpleLogger logger, Level level, String text, Throwable t) {
+		if (stopped || Thread.currentThread() == writerThread) {
+			writeDirectly(logger, text, t);
+			return;
+		}
+
+		while (!offer(logger, text, t)) {
+			if (queueFullPolicy == QueueFullPolicy.DISCARD
+					|| (queueFullPolicy == QueueFullPolicy.DROP_BELOW_WARN && level.toInt() < Level.WARN.toInt())) {
+				droppedCount.incrementAndGet();
+				return;
+			}
+			if (stopped) {
+				writeDirectly(logger, text, t);
+				return;
+			}
+			signalWriter();
+			LockSupport.parkNanos(FULL_PARK_NANOS);
+		}
+
+		if (stopped) {
+			// the writer may have finished draining before this message was
+			// published, see drainStopped()
+			drainStopped();
+			return;
+		}
+		if (waitStrategy == WaitStrategy.BLOCKING) {
+			signalWriter();
+		}
+	}
+
+	private boolean offer(SimpleLogger logger, String text, Throwable t) {
+		long position = tail.get();
+		for (;;) {
+			int index = (int) position & mask;
+			long difference = sequences.get(index) - position;
+			if (difference == 0) {
+				if (tail.compareAndSet(position, position + 1)) {
+					texts[index] = text;
+					throwables[index] = t;
+					loggers[index] = logger;
+					// publish
+					sequences.set(index, position + 1);
+					return true;
+				}
+				position = tail.get();
+			} else if (difference < 0) {
+				// the slot has not been read since the previous round, i.e. full
+				return false;
+			} else {
+				// another producer claimed this position
+				position = tail.get();
+			}
+		}
+	}
+
+	private void signalWriter() {
+		if (writerWaiting) {
+			LockSupport.unpark(writerThread);
+		}
+	}
+
+	@Override
+	public void run() {
+		while (!stopped) {
+			try {
+				if (drainBatch() == 0) {
+					waitForMessages();
+				}
+			} catch (Throwable e) {
+				Util.report("Failed to write log message", e);
+			}
+		}
+		drainStopped();
+	}
+
+	/**
+	 * Drain what remains after stop() was called, including positions claimed
+	 * by producers but not yet published.
+	 *
+	 * <p>A producer which claimed its position before reading {@link #stopped}
+	 * as false is waited for here. A producer reading it as true after
+	 * publishing drains the buffer itself, as its message may have been
+	 * published after the writer thread was done.
+	 */
+	private synchronized void drainStopped() {
+		try {
+			while (head != tail.get()) {
+				if (drainBatch() == 0) {
+					Thread.yield();
+				}
+			}
+		} catch (Throwable e) {
+			Util.report("Failed to write log message", e);
+		}
+	}
+
+	private boolean isEmpty() {
+		return sequences.get((int) head & mask) != head + 1;
+	}
+
+	private void waitForMessages() {
+		switch (waitStrategy) {
+		case BLOCKING:
+			writerWaiting = true;
+			// re-check after announcing the wait to avoid missing a signal
+			if (isEmpty() && !stopped) {
+				LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+			}
+			writerWaiting = false;
+			break;
+		case SLEEPING:
+			LockSupport.parkNanos(this, SLEEP_PARK_NANOS);
+			break;
+		case YIELDING:
+			Thread.yield();
+			break;
+		}
+	}
+
+	/**
+	 * Write up to {@link #MAX_BATCH_SIZE} messages, then flush.
+	 *
+	 * @return the number of messages written
+	 */
+	private int drainBatch() {
+		PrintStream targetStream = null;
+		int count = 0;
+		while (count < MAX_BATCH_SIZE) {
+			int index = (int) head & mask;
+			if (sequences.get(index) != head + 1) {
+				break;
+			}
+			String text = texts[index];
+			Throwable t = throwables[index];
+			SimpleLogger logger = loggers[index];
+			texts[index] = null;
+			throwables[index] = null;
+			loggers[index] = null;
+			// make the slot available to producers for the next round
+			sequences.set(index, head + mask + 1);
+			head++;
+
+			if (targetStream == null) {
+				targetStream = outputChoice.getTargetPrintStream();
+			}
+			targetStream.println(text);
+			logger.writeThrowable(t, targetStream);
+			count++;
+		}
+		if (targetStream != null) {
+			targetStream.flush();
+		}
+		return count;
+	}
+
+	private void writeDirectly(SimpleLogger logger, String text, Throwable t) {
+		PrintStream targetStream = outputChoice.getTargetPrintStream();
+		targetStream.println(text);
+		logger.writeThrowable(t, targetStream);
+		targetStream.flush();
+	}
+
+	/**
+	 * Stop the writer thread once all messages published so far are written.
+	 * Messages left in the buffer once the writer thread is done are written
+	 * by the calling thread. Messages logged afterwards are written by the
+	 * logging thread itself.
+	 */
+	void stop() {
+		if (stopped) {
+			return;
+		}
+		stopped = true;
+		LockSupport.unpark(writerThread);
+		if (Thread.currentThread() != writerThread) {
+			try {
+				writerThread.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			// e.g. if the writer thread was never started
+			drainStopped();
+		}
+		long dropped = droppedCount.get();
+		if (dropped > 0) {
+			Util.report(dropped + " log messages were discarded because the asynchronous buffer was full");
+		}
+	}
+}
@@ -0,0 +1,148 @@
+package org.slf4j.simple;
+
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.TimeZone;
+
+/**
+ * Formats timestamps, reusing the text rendered for the previous timestamp if
+ * it falls within the same second, or within the same millisecond if the
+ * pattern has fraction-of-second fields.
+ *
+ * <p>Patterns are those of {@link SimpleDateFormat}, as they always were for
+ * {@link SimpleLogger}. They are rendered with a {@link DateTimeFormatter},
+ * which is thread-safe, unless the pattern means something else to
+ * {@link DateTimeFormatter} or is rejected by it, in which case they are
+ * rendered with a {@link SimpleDateFormat}. See
+ * {@link #isSimpleDateFormatSpecific(String)}.
+ *
+ * <p>The last rendered text is published through a volatile reference to an
+ * immutable entry. Threads racing to render a new timestamp may each render
+ * it, the last one to publish wins. No lock is held, except around the
+ * {@link SimpleDateFormat} when there is one, and only to render a new
+ * timestamp.
+ *
+ * @author Ceki G&uuml;lc&uuml;
+ * @since 2.0.0
+ */
+class CachingDateTimeFormatter {
+
+	// exactly one of the two is non-null
+	private final DateTimeFormatter formatter;
+	private final DateFormat simpleDateFormat;
+
+	// 1000 if the rendered text changes at most once per second, 1 otherwise
+	private final long granularityMillis;
+
+	private volatile CachedEntry lastEntry = new CachedEntry(Long.MIN_VALUE, null);
+
+	/**
+	 * @param pattern a {@link SimpleDateFormat} pattern
+	 * @throws IllegalArgumentException if the pattern is invalid
+	 */
+	CachingDateTimeFormatter(String pattern) {
+		this(pattern, ZoneId.systemDefault());
+	}
+
+	CachingDateTimeFormatter(String pattern, ZoneId zoneId) {
+		DateTimeFormatter dateTimeFormatter = null;
+		if (!isSimpleDateFormatSpecific(pattern)) {
+			try {
+				dateTimeFormatter = DateTimeFormatter.ofPattern(pattern).withZone(zoneId);
+			} catch (IllegalArgumentException e) {
+				// e.g. '{' or '#' are reserved, try SimpleDateFormat
+			}
+		}
+		this.formatter = dateTimeFormatter;
+		if (dateTimeFormatter == null) {
+			SimpleDateFormat format = new SimpleDateFormat(pattern);
+			format.setTimeZone(TimeZone.getTimeZone(zoneId));
+			this.simpleDateFormat = format;
+		} else {
+			this.simpleDateFormat = null;
+		}
+		this.granularityMillis = hasSubSecondField(pattern) ? 1 : 1000;
+	}
+
+	/**
+	 * Does the pattern contain a field which {@link DateTimeFormatter} renders
+	 * differently from {@link SimpleDateFormat}? These are 'u', the day number
+	 * of week for {@link SimpleDateFormat} but the year for
+	 * {@link DateTimeFormatter}, 'F', and milliseconds other than "SSS", which
+	 * {@link DateTimeFormatter} renders as a fraction of second. Literal text
+	 * within quotes is skipped.
+	 */
+	static boolean isSimpleDateFormatSpecific(String pattern) {
+		boolean inQuotes = false;
+		for (int i = 0; i < pattern.length(); i++) {
+			char c = pattern.charAt(i);
+			if (c == '\'') {
+				inQuotes = !inQuotes;
+			} else if (inQuotes) {
+				continue;
+			} else if (c == 'u' || c == 'F') {
+				return true;
+			} else if (c == 'S') {
+				int runLength = 1;
+				while (i + 1 < pattern.length() && pattern.charAt(i + 1) == 'S') {
+					runLength++;
+					i++;
+				}
+				if (runLength != 3) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Does the pattern contain a field which changes more than once per
+	 * second, i.e. a fraction-of-second, nano-of-second, nano-of-day or
+	 * milli-of-day field? Literal text within quotes is skipped.
+	 */
+	static boolean hasSubSecondField(String pattern) {
+		boolean inQuotes = false;
+		for (int i = 0; i < pattern.length(); i++) {
+			char c = pattern.charAt(i);
+			if (c == '\'') {
+				inQuotes = !inQuotes;
+			} else if (!inQuotes && (c == 'S' || c == 'n' || c == 'N' || c == 'A')) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	String format(long epochMillis) {
+		long key = Math.floorDiv(epochMillis, granularityMillis);
+		CachedEntry entry = lastEntry;
+		if (entry.key == key) {
+			return entry.text;
+		}
+		String text;
+		if (formatter != null) {
+			text = formatter.format(Instant.ofEpochMilli(epochMillis));
+		} else {
+			synchronized (simpleDateFormat) {
+				text = simpleDateFormat.format(new Date(epochMillis));
+			}
+		}
+		lastEntry = new CachedEntry(key, text);
+		return text;
+	}
+
+	private static final class CachedEntry {
+		final long key;
+		final String text;
+
+		CachedEntry(long key, String text) {
+			this.key = key;
+			this.text = text;
+		}
+	}
+}
@@ -0,0 +1,96 @@
+package org.slf4j.simple;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.helpers.Util;
+
+/**
+ * Watches a configuration file with a {@link WatchService} and invokes a
+ * callback on a background thread whenever the file is created or modified.
+ *
+ * <p>Since editors typically produce several events when saving a file, the
+ * watcher waits for events to settle before invoking the callback once.
+ *
+ * @author Ceki G&uuml;lc&uuml;
+ * @since 2.0.0
+ */
+class ConfigurationWatcher implements Runnable {
+
+	static final String THREAD_NAME = "slf4j-simple-configuration-watcher";
+
+	static final long SETTLE_MILLIS = 100;
+
+	private final Path file;
+	private final Runnable onChange;
+	private final WatchService watchService;
+	private final Thread thread;
+
+	ConfigurationWatcher(Path file, Runnable onChange) throws IOException {
+		this.file = file;
+		this.onChange = onChange;
+		this.watchService = FileSystems.getDefault().newWatchService();
+		file.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+		this.thread = new Thread(this, THREAD_NAME);
+		thread.setDaemon(true);
+	}
+
+	void start() {
+		thread.start();
+	}
+
+	void stop() {
+		try {
+			// wakes up the watching thread with a ClosedWatchServiceException
+			watchService.close();
+		} catch (IOException e) {
+			// ignored
+		}
+	}
+
+	@Override
+	public void run() {
+		try {
+			while (true) {
+				WatchKey key = watchService.take();
+				boolean changed = pollChange(key);
+				// let subsequent events of the same save settle
+				while (true) {
+					key = watchService.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS);
+					if (key == null) {
+						break;
+					}
+					changed |= pollChange(key);
+				}
+				if (changed) {
+					try {
+						onChange.run();
+					} catch (RuntimeException e) {
+						Util.report("Failed to apply the configuration in [" + file + "]", e);
+					}
+				}
+			}
+		} catch (ClosedWatchServiceException | InterruptedException e) {
+			// stopped
+		}
+	}
+
+	private boolean pollChange(WatchKey key) {
+		boolean changed = false;
+		for (WatchEvent<?> event : key.pollEvents()) {
+			Object context = event.context();
+			if (event.kind() == StandardWatchEventKinds.OVERFLOW || file.getFileName().equals(context)) {
+				changed = true;
+			}
+		}
+		key.reset();
+		return changed;
+	}
+}
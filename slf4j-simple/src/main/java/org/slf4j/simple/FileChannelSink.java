@@ -0,0 +1,259 @@
+package org.slf4j.simple;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.event.Level;
+import org.slf4j.helpers.Util;
+
+/**
+ * The output target of {@link SimpleLogger} when logging to a file.
+ *
+ * <p>Messages are encoded in UTF-8 directly into a direct {@link ByteBuffer}
+ * which is written to a {@link FileChannel} when it fills up, when a message
+ * of level WARN or above is logged, or when the configured flush interval
+ * elapses, whichever comes first. Optionally, the channel is forced to the
+ * storage device every time a given number of bytes was written.
+ *
+ * <p>All methods synchronize on the sink.
+ *
+ * @author Ceki G&uuml;lc&uuml;
+ * @since 2.0.0
+ */
+class FileChannelSink {
+
+	static final String FLUSHER_THREAD_NAME = "slf4j-simple-file-flusher";
+
+	private static final byte[] LINE_SEPARATOR_BYTES = System.lineSeparator().getBytes(StandardCharsets.UTF_8);
+
+	private final Path path;
+	private final FileChannel channel;
+	private final ByteBuffer buffer;
+	private final CharsetEncoder encoder;
+	private final long forceBytes;
+	private final long flushIntervalNanos;
+
+	// byte oriented view, used for stack traces
+	private final PrintStream printStream;
+
+	private final Thread flusherThread;
+
+	private long lastFlushNanos = System.nanoTime();
+	private long bytesSinceForce;
+	private boolean closed;
+	private boolean failureReported;
+
+	/**
+	 * @param fileName the file to write to, truncated if it exists
+	 * @param bufferSize the capacity of the buffer in bytes
+	 * @param flushIntervalMillis the maximum time pending bytes may remain in
+	 *          the buffer, 0 to flush after each message
+	 * @param forceBytes the number of bytes after which the channel is forced
+	 *          to the storage device, 0 to never force it
+	 */
+	FileChannelSink(String fileName, int bufferSize, long flushIntervalMillis, long forceBytes) throws IOException {
+		this.path = Paths.get(fileName);
+		this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+		// room for at least one encoded character
+		this.buffer = ByteBuffer.allocateDirect(Math.max(bufferSize, 16));
+		this.encoder = StandardCharsets.UTF_8.newEncoder().onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		this.forceBytes = forceBytes;
+		this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(flushIntervalMillis, 0));
+		this.printStream = newPrintStream(new BufferOutputStream());
+
+		if (flushIntervalNanos > 0) {
+			flusherThread = new Thread(this::runFlusher, FLUSHER_THREAD_NAME);
+			flusherThread.setDaemon(true);
+			flusherThread.start();
+		} else {
+			flusherThread = null;
+		}
+	}
+
+	private static PrintStream newPrintStream(OutputStream out) {
+		try {
+			return new PrintStream(out, false, StandardCharsets.UTF_8.name());
+		} catch (UnsupportedEncodingException e) {
+			// UTF-8 is always supported
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * A print stream writing into this sink. Flushing it flushes the sink.
+	 */
+	PrintStream getPrintStream() {
+		return printStream;
+	}
+
+	/**
+	 * Write a complete message, the line separator and, if not null, the stack
+	 * trace of the throwable as rendered by the logger.
+	 */
+	synchronized void write(SimpleLogger logger, Level level, CharSequence text, Throwable t) {
+		if (closed) {
+			return;
+		}
+		try {
+			encode(text);
+			put(LINE_SEPARATOR_BYTES, 0, LINE_SEPARATOR_BYTES.length);
+			// PrintStream hands over the bytes of each print call immediately
+			logger.writeThrowable(t, printStream);
+			if (level.toInt() >= Level.WARN.toInt() || System.nanoTime() - lastFlushNanos >= flushIntervalNanos) {
+				drain();
+			}
+		} catch (IOException e) {
+			reportFailure(e);
+		}
+	}
+
+	private void encode(CharSequence text) throws IOException {
+		CharBuffer in = CharBuffer.wrap(text);
+		encoder.reset();
+		while (encoder.encode(in, buffer, true) == CoderResult.OVERFLOW) {
+			drain();
+		}
+		while (encoder.flush(buffer) == CoderResult.OVERFLOW) {
+			drain();
+		}
+	}
+
+	private void put(byte[] b, int off, int len) throws IOException {
+		while (len > 0) {
+			if (!buffer.hasRemaining()) {
+				drain();
+			}
+			int chunk = Math.min(len, buffer.remaining());
+			buffer.put(b, off, chunk);
+			off += chunk;
+			len -= chunk;
+		}
+	}
+
+	/**
+	 * Write the buffered bytes to the channel.
+	 */
+	synchronized void flush() {
+		if (closed) {
+			return;
+		}
+		try {
+			drain();
+		} catch (IOException e) {
+			reportFailure(e);
+		}
+	}
+
+	private void drain() throws IOException {
+		lastFlushNanos = System.nanoTime();
+		if (buffer.position() == 0) {
+			return;
+		}
+		buffer.flip();
+		try {
+			while (buffer.hasRemaining()) {
+				bytesSinceForce += channel.write(buffer);
+			}
+		} finally {
+			// on failure, drop the pending bytes rather than retry forever
+			buffer.clear();
+		}
+		if (forceBytes > 0 && bytesSinceForce >= forceBytes) {
+			channel.force(false);
+			bytesSinceForce = 0;
+		}
+	}
+
+	private void runFlusher() {
+		long intervalMillis = TimeUnit.NANOSECONDS.toMillis(flushIntervalNanos);
+		while (true) {
+			try {
+				Thread.sleep(intervalMillis);
+			} catch (InterruptedException e) {
+				return;
+			}
+			synchronized (this) {
+				if (closed) {
+					return;
+				}
+				if (System.nanoTime() - lastFlushNanos >= flushIntervalNanos) {
+					flush();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Flush and close the underlying channel. Subsequent writes are ignored.
+	 */
+	synchronized void close() {
+		if (closed) {
+			return;
+		}
+		flush();
+		closed = true;
+		if (flusherThread != null) {
+			flusherThread.interrupt();
+		}
+		try {
+			channel.close();
+		} catch (IOException e) {
+			reportFailure(e);
+		}
+	}
+
+	private void reportFailure(IOException e) {
+		if (!failureReported) {
+			failureReported = true;
+			Util.report("Failed to write to [" + path + "]", e);
+		}
+	}
+
+	/**
+	 * Feeds the bytes produced by {@link #printStream} into the buffer.
+	 */
+	private class BufferOutputStream extends OutputStream {
+
+		@Override
+		public void write(int b) throws IOException {
+			synchronized (FileChannelSink.this) {
+				if (closed) {
+					return;
+				}
+				if (!buffer.hasRemaining()) {
+					drain();
+				}
+				buffer.put((byte) b);
+			}
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			synchronized (FileChannelSink.this) {
+				if (closed) {
+					return;
+				}
+				put(b, off, len);
+			}
+		}
+
+		@Override
+		public void flush() {
+			FileChannelSink.this.flush();
+		}
+	}
+}
@@ -0,0 +1,311 @@
+package org.slf4j.simple;
+
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+import org.slf4j.event.KeyValuePair;
+import org.slf4j.event.Level;
+import org.slf4j.helpers.BasicMDCAdapter;
+import org.slf4j.helpers.MessageFormatter;
+import org.slf4j.helpers.NormalizedParameters;
+import org.slf4j.spi.MDCAdapter;
+
+/**
+ * Renders events of {@link SimpleLogger} as JSON objects, one per line, e.g.
+ *
+ * <pre>
+ * {"timestamp":1594123456789,"level":"INFO","logger":"a.b.C","thread":"main","markers":["AUDIT"],"mdc":{"user":"alice"},"kv":{"orderId":42},"message":"Order shipped"}
+ * </pre>
+ *
+ * <p>Fields are appended straight into the output buffer, strings being
+ * escaped as they are copied. The message is formatted into a recycled scratch
+ * buffer and escaped as it is copied, the stack trace of a throwable is
+ * escaped as it is printed.
+ *
+ * <p>The timestamp is rendered with the configured date-time format as a
+ * string, or else as the number of milliseconds since the epoch. The
+ * <code>markers</code>, <code>mdc</code>, <code>kv</code> and
+ * <code>throwable</code> fields are omitted when empty.
+ *
+ * @author Ceki G&uuml;lc&uuml;
+ * @since 2.0.0
+ */
+class JsonLayout {
+
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+	private static final int INITIAL_SCRATCH_CAPACITY = 256;
+	private static final int MAX_RECYCLED_SCRATCH_CAPACITY = 4096;
+	private static final ThreadLocal<StringBuilder> RECYCLED_SCRATCH = new ThreadLocal<StringBuilder>();
+
+	/**
+	 * Append the fields preceding the message and open the message string.
+	 */
+	static void beginMessage(StringBuilder buf, String loggerName, Level level, List<Marker> markers,
+			List<KeyValuePair> keyValuePairs) {
+		buf.append("{\"timestamp\":");
+		long now = System.currentTimeMillis();
+		CachingDateTimeFormatter dateFormatter = SimpleLogger.CONFIG_PARAMS.dateFormatter;
+		if (dateFormatter != null) {
+			appendString(buf, dateFormatter.format(now));
+		} else {
+			buf.append(now);
+		}
+
+		buf.append(",\"level\":\"").append(level.name()).append('"');
+		buf.append(",\"logger\":");
+		appendString(buf, loggerName);
+		buf.append(",\"thread\":");
+		appendString(buf, Thread.currentThread().getName());
+
+		if (markers != null && !markers.isEmpty()) {
+			buf.append(",\"markers\":[");
+			for (int i = 0; i < markers.size(); i++) {
+				if (i > 0) {
+					buf.append(',');
+				}
+				appendString(buf, markers.get(i).getName());
+			}
+			buf.append(']');
+		}
+
+		appendMDC(buf);
+
+		if (keyValuePairs != null && !keyValuePairs.isEmpty()) {
+			buf.append(",\"kv\":{");
+			for (int i = 0; i < keyValuePairs.size(); i++) {
+				KeyValuePair keyValuePair = keyValuePairs.get(i);
+				if (i > 0) {
+					buf.append(',');
+				}
+				appendString(buf, keyValuePair.key);
+				buf.append(':');
+				appendValue(buf, keyValuePair.value);
+			}
+			buf.append('}');
+		}
+
+		buf.append(",\"message\":\"");
+	}
+
+	/**
+	 * Append the message formatted from 'messagePattern' and 'arguments',
+	 * escaped.
+	 */
+	static void appendMessage(StringBuilder buf, String messagePattern, Object[] arguments) {
+		StringBuilder scratch = acquireScratch();
+		MessageFormatter.formatTo(scratch, messagePattern, arguments);
+		appendEscaped(buf, scratch, 0, scratch.length());
+		releaseScratch(scratch);
+	}
+
+	/**
+	 * Append the message formatted from 'np', escaped.
+	 */
+	static void appendMessage(StringBuilder buf, NormalizedParameters np) {
+		StringBuilder scratch = acquireScratch();
+		MessageFormatter.formatTo(scratch, np);
+		appendEscaped(buf, scratch, 0, scratch.length());
+		releaseScratch(scratch);
+	}
+
+	/**
+	 * Close the message string, append the stack trace of 't', if any, and
+	 * close the object.
+	 */
+	static void endMessage(StringBuilder buf, Throwable t) {
+		buf.append('"');
+		if (t != null) {
+			buf.append(",\"throwable\":\"");
+			t.printStackTrace(new PrintWriter(new EscapingWriter(buf)));
+			buf.append('"');
+		}
+		buf.append('}');
+	}
+
+	private static StringBuilder acquireScratch() {
+		StringBuilder scratch = RECYCLED_SCRATCH.get();
+		if (scratch == null) {
+			// either first use on this thread or a re-entrant logging call
+			return new StringBuilder(INITIAL_SCRATCH_CAPACITY);
+		}
+		RECYCLED_SCRATCH.set(null);
+		return scratch;
+	}
+
+	private static void releaseScratch(StringBuilder scratch) {
+		if (scratch.capacity() <= MAX_RECYCLED_SCRATCH_CAPACITY) {
+			scratch.setLength(0);
+			RECYCLED_SCRATCH.set(scratch);
+		}
+	}
+
+	private static void appendMDC(StringBuilder buf) {
+		MDCAdapter mdcAdapter = MDC.getMDCAdapter();
+		if (mdcAdapter instanceof BasicMDCAdapter) {
+			// a live view of the current thread's map, nothing is copied
+			Set<String> keys = ((BasicMDCAdapter) mdcAdapter).getKeys();
+			if (keys == null || keys.isEmpty()) {
+				return;
+			}
+			buf.append(",\"mdc\":{");
+			boolean first = true;
+			for (String key : keys) {
+				if (!first) {
+					buf.append(',');
+				}
+				first = false;
+				appendString(buf, key);
+				buf.append(':');
+				appendValue(buf, mdcAdapter.get(key));
+			}
+			buf.append('}');
+		} else if (mdcAdapter != null) {
+			Map<String, String> contextMap = mdcAdapter.getCopyOfContextMap();
+			if (contextMap == null || contextMap.isEmpty()) {
+				return;
+			}
+			buf.append(",\"mdc\":{");
+			boolean first = true;
+			for (Map.Entry<String, String> entry : contextMap.entrySet()) {
+				if (!first) {
+					buf.append(',');
+				}
+				first = false;
+				appendString(buf, entry.getKey());
+				buf.append(':');
+				appendValue(buf, entry.getValue());
+			}
+			buf.append('}');
+		}
+	}
+
+	static void appendValue(StringBuilder buf, Object value) {
+		if (value == null) {
+			buf.append("null");
+		} else if (value instanceof Boolean || value instanceof Integer || value instanceof Long
+				|| value instanceof Short || value instanceof Byte) {
+			buf.append(value);
+		} else if (value instanceof Double || value instanceof Float) {
+			double d = ((Number) value).doubleValue();
+			if (Double.isNaN(d) || Double.isInfinite(d)) {
+				// not representable as JSON numbers
+				buf.append('"').append(value).append('"');
+			} else {
+				buf.append(value);
+			}
+		} else {
+			appendString(buf, value instanceof CharSequence ? (CharSequence) value : String.valueOf(value));
+		}
+	}
+
+	/**
+	 * Append 's' as a quoted JSON string, or as JSON null if 's' is null.
+	 */
+	static void appendString(StringBuilder buf, CharSequence s) {
+		if (s == null) {
+			buf.append("null");
+			return;
+		}
+		buf.append('"');
+		appendEscaped(buf, s, 0, s.length());
+		buf.append('"');
+	}
+
+	private static void appendEscaped(StringBuilder buf, CharSequence s, int start, int end) {
+		// unescaped runs are copied in bulk
+		int runStart = start;
+		for (int i = start; i < end; i++) {
+			char c = s.charAt(i);
+			if (c >= 0x20 && c != '"' && c != '\\') {
+				continue;
+			}
+			buf.append(s, runStart, i);
+			appendEscape(buf, c);
+			runStart = i + 1;
+		}
+		buf.append(s, runStart, end);
+	}
+
+	private static void appendEscape(StringBuilder buf, char c) {
+		switch (c) {
+		case '"':
+			buf.append("\\\"");
+			break;
+		case '\\':
+			buf.append("\\\\");
+			break;
+		case '\n':
+			buf.append("\\n");
+			break;
+		case '\r':
+			buf.append("\\r");
+			break;
+		case '\t':
+			buf.append("\\t");
+			break;
+		case '\b':
+			buf.append("\\b");
+			break;
+		case '\f':
+			buf.append("\\f");
+			break;
+		default:
+			buf.append("\\u00").append(HEX_DIGITS[c >> 4]).append(HEX_DIGITS[c & 0xF]);
+		}
+	}
+
+	/**
+	 * Escapes the characters written to it as they are appended to the
+	 * underlying buffer.
+	 */
+	static class EscapingWriter extends Writer {
+
+		private final StringBuilder buf;
+
+		EscapingWriter(StringBuilder buf) {
+			this.buf = buf;
+		}
+
+		@Override
+		public void write(int c) {
+			char ch = (char) c;
+			if (ch >= 0x20 && ch != '"' && ch != '\\') {
+				buf.append(ch);
+			} else {
+				appendEscape(buf, ch);
+			}
+		}
+
+		@Override
+		public void write(char[] cbuf, int off, int len) {
+			appendEscaped(buf, CharBuffer.wrap(cbuf), off, off + len);
+		}
+
+		@Override
+		public void write(String str, int off, int len) {
+			appendEscaped(buf, str, off, off + len);
+		}
+
+		@Override
+		public Writer append(CharSequence csq, int start, int end) {
+			CharSequence s = csq == null ? "null" : csq;
+			appendEscaped(buf, s, start, end);
+			return this;
+		}
+
+		@Override
+		public void flush() {
+		}
+
+		@Override
+		public void close() {
+		}
+	}
+}
@@ -0,0 +1,131 @@
+package org.slf4j.simple;
+
+/**
+ * The levels assigned to logger names, for instance through
+ * <code>org.slf4j.simpleLogger.log.<em>a.b.c</em></code> properties, organized
+ * as a trie of dot-separated name segments.
+ *
+ * <p>The effective level of a logger is that of its nearest ancestor, or of
+ * itself, having an assigned level. It is found in a single walk down the
+ * trie, comparing segments in place within the logger name so that nothing
+ * is allocated.
+ *
+ * <p>Lookups are lock-free. Level assignments may happen at any time, they
+ * are serialized on the index and published through volatile fields.
+ *
+ * @author Ceki G&uuml;lc&uuml;
+ * @since 2.0.0
+ */
+class LevelIndex {
+
+	/**
+	 * Returned by {@link #getEffectiveLevel(String)} when neither the logger
+	 * nor any of its ancestors has an assigned level.
+	 */
+	static final int UNSET = Integer.MIN_VALUE;
+
+	private static final Node[] NO_CHILDREN = new Node[0];
+
+	private final Node root = new Node("");
+
+	/**
+	 * Return the level assigned to the logger named 'name' or to its nearest
+	 * ancestor, or {@link #UNSET} if there is none.
+	 */
+	int getEffectiveLevel(String name) {
+		if (name.isEmpty()) {
+			return root.level;
+		}
+		int effectiveLevel = UNSET;
+		Node node = root;
+		int start = 0;
+		while (true) {
+			int dot = name.indexOf('.', start);
+			int end = dot == -1 ? name.length() : dot;
+			node = node.findChild(name, start, end - start);
+			if (node == null) {
+				break;
+			}
+			if (node.level != UNSET) {
+				effectiveLevel = node.level;
+			}
+			if (dot == -1) {
+				break;
+			}
+			start = dot + 1;
+		}
+		return effectiveLevel;
+	}
+
+	/**
+	 * Assign a level to the logger named 'name' and, unless they have a level
+	 * of their own, to its descendants.
+	 */
+	synchronized void setLevel(String name, int level) {
+		getOrCreateNode(name).level = level;
+	}
+
+	/**
+	 * Remove the level assigned to the logger named 'name', if any, so that it
+	 * inherits the level of its ancestors.
+	 */
+	synchronized void removeLevel(String name) {
+		// nodes are not pruned, the index is expected to remain small
+		getOrCreateNode(name).level = UNSET;
+	}
+
+	private Node getOrCreateNode(String name) {
+		Node node = root;
+		if (name.isEmpty()) {
+			return node;
+		}
+		int start = 0;
+		while (true) {
+			int dot = name.indexOf('.', start);
+			int end = dot == -1 ? name.length() : dot;
+			Node child = node.findChild(name, start, end - start);
+			if (child == null) {
+				child = node.addChild(name.substring(start, end));
+			}
+			node = child;
+			if (dot == -1) {
+				return node;
+			}
+			start = dot + 1;
+		}
+	}
+
+	private static final class Node {
+
+		final String segment;
+		volatile int level = UNSET;
+		// replaced, never modified, when a child is added
+		volatile Node[] children = NO_CHILDREN;
+
+		Node(String segment) {
+			this.segment = segment;
+		}
+
+		Node findChild(String name, int offset, int length) {
+			Node[] nodes = children;
+			for (int i = 0; i < nodes.length; i++) {
+				String candidate = nodes[i].segment;
+				if (candidate.length() == length && name.regionMatches(offset, candidate, 0, length)) {
+					return nodes[i];
+				}
+			}
+			return null;
+		}
+
+		// invoked while holding the index lock
+		Node addChild(String childSegment) {
+			Node child = new Node(childSegment);
+			Node[] nodes = children;
+			Node[] grown = new Node[nodes.length + 1];
+			System.arraycopy(nodes, 0, grown, 0, nodes.length);
+			grown[nodes.length] = child;
+			children = grown;
+			return child;
+		}
+	}
+}
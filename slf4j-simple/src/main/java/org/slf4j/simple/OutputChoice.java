@@ -16,6 +16,7 @@ class OutputChoice {
 
     final OutputChoiceType outputChoiceType;
     final PrintStream targetPrintStream;
+    final FileChannelSink fileSink;
 
     OutputChoice(OutputChoiceType outputChoiceType) {
         if (outputChoiceType == OutputChoiceType.FILE) {
@@ -29,11 +30,26 @@ class OutputChoice {
         } else {
             this.targetPrintStream = null;
         }
+        this.fileSink = null;
     }
 
     OutputChoice(PrintStream printStream) {
         this.outputChoiceType = OutputChoiceType.FILE;
         this.targetPrintStream = printStream;
+        this.fileSink = null;
+    }
+
+    OutputChoice(FileChannelSink fileSink) {
+        this.outputChoiceType = OutputChoiceType.FILE;
+        this.targetPrintStream = fileSink.getPrintStream();
+        this.fileSink = fileSink;
+    }
+
+    /**
+     * Return the file sink if the output target is a file, null otherwise.
+     */
+    FileChannelSink getFileSink() {
+        return fileSink;
     }
 
     PrintStream getTargetPrintStream() {
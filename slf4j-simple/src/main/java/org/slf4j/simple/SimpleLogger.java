@@ -25,14 +25,15 @@
 package org.slf4j.simple;
 
 import java.io.PrintStream;
-import java.util.ArrayList;
-import java.util.Date;
+import java.util.Collections;
 import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.Marker;
+import org.slf4j.event.KeyValuePair;
 import org.slf4j.event.Level;
 import org.slf4j.event.LoggingEvent;
+import org.slf4j.event.LoggingEventAware;
 import org.slf4j.helpers.LegacyAbstractLogger;
 import org.slf4j.helpers.MessageFormatter;
 import org.slf4j.helpers.NormalizedParameters;
@@ -50,6 +51,20 @@ import org.slf4j.spi.LocationAwareLogger;
  * be the <em>path</em> to a file, or the special values "System.out" and
  * "System.err". Default is "System.err".</li>
  * 
+ * <li><code>org.slf4j.simpleLogger.fileBufferSize</code> - If the output
+ * target is a file, the size in bytes of the buffer holding output not yet
+ * written to the file. Defaults to 8192.</li>
+ *
+ * <li><code>org.slf4j.simpleLogger.fileFlushInterval</code> - If the output
+ * target is a file, the maximum time in milliseconds output may remain
+ * buffered. Messages of level WARN or above are written immediately. Set to 0
+ * to write every message immediately. Defaults to 1000.</li>
+ *
+ * <li><code>org.slf4j.simpleLogger.fileForceBytes</code> - If the output
+ * target is a file and this value is positive, the file is forced to the
+ * storage device each time this many bytes were written. Defaults to 0, i.e.
+ * never.</li>
+ *
  * <li><code>org.slf4j.simpleLogger.cacheOutputStream</code> - If the output
  * target is set to "System.out" or "System.err" (see preceding entry), by
  * default, logs will be output to the latest value referenced by
@@ -68,7 +83,10 @@ import org.slf4j.spi.LocationAwareLogger;
  * named "a.b.c" is initialized, its level is assigned from this property. If
  * unspecified, the level of nearest parent logger will be used, and if none is
  * set, then the value specified by
- * <code>org.slf4j.simpleLogger.defaultLogLevel</code> will be used.</li>
+ * <code>org.slf4j.simpleLogger.defaultLogLevel</code> will be used. Like the
+ * other properties, these are read when SimpleLogger is initialized, or when
+ * the configuration is reloaded. Properties set afterwards are not taken into
+ * account, including by loggers created later on.</li>
  *
  * <li><code>org.slf4j.simpleLogger.showDateTime</code> - Set to
  * <code>true</code> if you want the current date and time to be included in
@@ -76,7 +94,7 @@ import org.slf4j.spi.LocationAwareLogger;
  *
  * <li><code>org.slf4j.simpleLogger.dateTimeFormat</code> - The date and time
  * format to be used in the output messages. The pattern describing the date and
- * time format is defined by <a href=
+ * time format is the same as is used in <a href=
  * "http://docs.oracle.com/javase/1.5.0/docs/api/java/text/SimpleDateFormat.html">
  * <code>SimpleDateFormat</code></a>. If the format is not specified or is
  * invalid, the number of milliseconds since start up will be output.</li>
@@ -98,6 +116,50 @@ import org.slf4j.spi.LocationAwareLogger;
  *
  * <li><code>org.slf4j.simpleLogger.warnLevelString</code> - The string value
  * output for the warn level. Defaults to <code>WARN</code>.</li>
+ *
+ * <li><code>org.slf4j.simpleLogger.configurationFile</code> - The path of a
+ * properties file read in addition to the <code>simplelogger.properties</code>
+ * resource, taking precedence over it.</li>
+ *
+ * <li><code>org.slf4j.simpleLogger.watchConfiguration</code> - Set to
+ * <code>true</code> to watch the configuration file, i.e. the file given by
+ * <code>org.slf4j.simpleLogger.configurationFile</code> or else the
+ * <code>simplelogger.properties</code> resource if it resides on the file
+ * system. When the file changes, the default level and the levels of existing
+ * and future loggers are reassigned accordingly. Other settings require a
+ * restart. Defaults to <code>false</code>.</li>
+ *
+ * <li><code>org.slf4j.simpleLogger.async</code> - Set to <code>true</code> to
+ * hand messages over to a background thread which writes them to the output
+ * target, flushing once per batch. Pending messages are written when the JVM
+ * shuts down. Defaults to <code>false</code>.</li>
+ *
+ * <li><code>org.slf4j.simpleLogger.async.bufferSize</code> - The number of
+ * messages which can be pending in asynchronous mode, rounded up to a power of
+ * two. Defaults to 8192.</li>
+ *
+ * <li><code>org.slf4j.simpleLogger.async.waitStrategy</code> - How the
+ * background thread waits for messages. Must be one of "blocking", "sleeping"
+ * or "yielding". Defaults to "blocking".</li>
+ *
+ * <li><code>org.slf4j.simpleLogger.async.queueFullPolicy</code> - What a
+ * logging thread does when no more messages can be pending. Must be one of
+ * "block" (wait for room), "dropBelowWarn" (discard messages below WARN, wait
+ * for room for the others) or "discard". Defaults to "block".</li>
+ *
+ * <li><code>org.slf4j.simpleLogger.jmx</code> - Set to <code>true</code> to
+ * register a {@link SimpleLoggerMXBean} with the platform MBean server,
+ * exposing the loggers and their levels, which can be changed at runtime,
+ * along with per-level message counts, the number of characters written and the
+ * time spent writing. Defaults to <code>false</code>, in which case nothing
+ * is counted.</li>
+ *
+ * <li><code>org.slf4j.simpleLogger.layout</code> - Must be one of "text" or
+ * "json". The "json" layout writes each event as a JSON object on a single
+ * line, with the timestamp, level, logger name, thread name, markers, MDC
+ * entries, key-value pairs, message and stack trace as separate fields. The
+ * <code>show*</code> and <code>levelInBrackets</code> settings do not apply to
+ * it. Defaults to "text".</li>
  * 
  * </ul>
  *
@@ -143,7 +205,7 @@ import org.slf4j.spi.LocationAwareLogger;
  * @author Robert Burrell Donkin
  * @author C&eacute;drik LIME
  */
-public class SimpleLogger extends LegacyAbstractLogger {
+public class SimpleLogger extends LegacyAbstractLogger implements LoggingEventAware {
 
 	private static final long serialVersionUID = -632788891211436180L;
 
@@ -157,6 +219,13 @@ public class SimpleLogger extends LegacyAbstractLogger {
 
 	static char SP = ' ';
 
+	private static final int INITIAL_BUFFER_CAPACITY = 256;
+	// buffers grown beyond this capacity are not kept for reuse
+	private static final int MAX_RECYCLED_BUFFER_CAPACITY = 4096;
+	private static final ThreadLocal<StringBuilder> RECYCLED_BUFFER = new ThreadLocal<StringBuilder>();
+
+	private static final int LINE_SEPARATOR_LENGTH = System.lineSeparator().length();
+
 	// The OFF level can only be used in configuration files to disable logging.
 	// It has
 	// no printing method associated with it in o.s.Logger interface.
@@ -176,12 +245,22 @@ public class SimpleLogger extends LegacyAbstractLogger {
 	// external software might be invoking this method directly. Do not rename
 	// or change its semantics.
 	static void init() {
-		CONFIG_PARAMS = new SimpleLoggerConfiguration();
-		CONFIG_PARAMS.init();
+		SimpleLoggerConfiguration previous = CONFIG_PARAMS;
+		SimpleLoggerConfiguration current = new SimpleLoggerConfiguration();
+		if (previous != null) {
+			// release the output of the previous configuration, e.g. a file
+			// which the new configuration may open anew
+			previous.close();
+			// factories created so far must follow the reloads of the new
+			// configuration, before its watcher is started
+			current.takeOverReloadListeners(previous);
+		}
+		CONFIG_PARAMS = current;
+		current.init();
 	}
 
 	/** The current log level */
-	protected int currentLogLevel = LOG_LEVEL_INFO;
+	protected volatile int currentLogLevel = LOG_LEVEL_INFO;
 	/** The short name of this simple log instance */
 	private transient String shortLogName = null;
 
@@ -213,6 +292,28 @@ public class SimpleLogger extends LegacyAbstractLogger {
 
 	public static final String DEFAULT_LOG_LEVEL_KEY = SimpleLogger.SYSTEM_PREFIX + "defaultLogLevel";
 
+	public static final String FILE_BUFFER_SIZE_KEY = SimpleLogger.SYSTEM_PREFIX + "fileBufferSize";
+
+	public static final String FILE_FLUSH_INTERVAL_KEY = SimpleLogger.SYSTEM_PREFIX + "fileFlushInterval";
+
+	public static final String FILE_FORCE_BYTES_KEY = SimpleLogger.SYSTEM_PREFIX + "fileForceBytes";
+
+	public static final String CONFIGURATION_FILE_KEY = SimpleLogger.SYSTEM_PREFIX + "configurationFile";
+
+	public static final String WATCH_CONFIGURATION_KEY = SimpleLogger.SYSTEM_PREFIX + "watchConfiguration";
+
+	public static final String ASYNC_KEY = SimpleLogger.SYSTEM_PREFIX + "async";
+
+	public static final String ASYNC_BUFFER_SIZE_KEY = SimpleLogger.SYSTEM_PREFIX + "async.bufferSize";
+
+	public static final String ASYNC_WAIT_STRATEGY_KEY = SimpleLogger.SYSTEM_PREFIX + "async.waitStrategy";
+
+	public static final String ASYNC_QUEUE_FULL_POLICY_KEY = SimpleLogger.SYSTEM_PREFIX + "async.queueFullPolicy";
+
+	public static final String JMX_KEY = SimpleLogger.SYSTEM_PREFIX + "jmx";
+
+	public static final String LAYOUT_KEY = SimpleLogger.SYSTEM_PREFIX + "layout";
+
 	/**
 	 * Package access allows only {@link SimpleLoggerFactory} to instantiate
 	 * SimpleLogger instances.
@@ -220,28 +321,44 @@ public class SimpleLogger extends LegacyAbstractLogger {
 	SimpleLogger(String name) {
 		this.name = name;
 
-		String levelString = recursivelyComputeLevelString();
-		if (levelString != null) {
-			this.currentLogLevel = SimpleLoggerConfiguration.stringToLevel(levelString);
-		} else {
-			this.currentLogLevel = CONFIG_PARAMS.defaultLogLevel;
-		}
+		this.currentLogLevel = CONFIG_PARAMS.computeLevel(name);
+	}
+
+	/**
+	 * Reassign the level of this logger according to the current
+	 * configuration, e.g. after it was reloaded.
+	 */
+	void recomputeLevel() {
+		this.currentLogLevel = CONFIG_PARAMS.computeLevel(name);
 	}
 
-	String recursivelyComputeLevelString() {
-		String tempName = name;
-		String levelString = null;
-		int indexOfLastDot = tempName.length();
-		while ((levelString == null) && (indexOfLastDot > -1)) {
-			tempName = tempName.substring(0, indexOfLastDot);
-			levelString = CONFIG_PARAMS.getStringProperty(SimpleLogger.LOG_KEY_PREFIX + tempName, null);
-			indexOfLastDot = String.valueOf(tempName).lastIndexOf(".");
+
+	void write(Level level, StringBuilder buf, Throwable t) {
+		WriteStatistics statistics = CONFIG_PARAMS.statistics;
+		if (statistics == null) {
+			writeToTarget(level, buf, t);
+			return;
 		}
-		return levelString;
+		// measured before the call since the buffer may be reused afterwards
+		int length = buf.length() + LINE_SEPARATOR_LENGTH;
+		long start = System.nanoTime();
+		writeToTarget(level, buf, t);
+		statistics.record(level, length, System.nanoTime() - start);
 	}
 
+	private void writeToTarget(Level level, StringBuilder buf, Throwable t) {
+		AsyncWriter asyncWriter = CONFIG_PARAMS.asyncWriter;
+		if (asyncWriter != null) {
+			asyncWriter.enqueue(this, level, buf.toString(), t);
+			return;
+		}
+
+		FileChannelSink fileSink = CONFIG_PARAMS.outputChoice.getFileSink();
+		if (fileSink != null) {
+			fileSink.write(this, level, buf, t);
+			return;
+		}
 
-	void write(StringBuilder buf, Throwable t) {
 		PrintStream targetStream = CONFIG_PARAMS.outputChoice.getTargetPrintStream();
 
 		targetStream.println(buf.toString());
@@ -256,12 +373,7 @@ public class SimpleLogger extends LegacyAbstractLogger {
 	}
 
 	private String getFormattedDate() {
-		Date now = new Date();
-		String dateText;
-		synchronized (CONFIG_PARAMS.dateFormatter) {
-			dateText = CONFIG_PARAMS.dateFormatter.format(now);
-		}
-		return dateText;
+		return CONFIG_PARAMS.dateFormatter.format(System.currentTimeMillis());
 	}
 
 	private String computeShortName() {
@@ -352,8 +464,7 @@ public class SimpleLogger extends LegacyAbstractLogger {
 		List<Marker> markers = null;
 		
 		if(marker != null) {
-			markers = new ArrayList<Marker>();
-			markers.add(marker);
+			markers = Collections.singletonList(marker);
 		}
 		
 		innerHandleNormalizedLoggingCall(level, markers, messagePattern, arguments, t);
@@ -362,8 +473,45 @@ public class SimpleLogger extends LegacyAbstractLogger {
 	private void innerHandleNormalizedLoggingCall(Level level, List<Marker> markers, String messagePattern, Object[] arguments,
 			Throwable t) {
 
-		StringBuilder buf = new StringBuilder(32);
+		StringBuilder buf = acquireBuffer();
+		if (CONFIG_PARAMS.jsonLayout) {
+			JsonLayout.beginMessage(buf, name, level, markers, null);
+			JsonLayout.appendMessage(buf, messagePattern, arguments);
+			JsonLayout.endMessage(buf, t);
+			write(level, buf, null);
+		} else {
+			appendPrefix(buf, level, markers);
+
+			// Append the message
+			MessageFormatter.formatTo(buf, messagePattern, arguments);
+
+			write(level, buf, t);
+		}
+		releaseBuffer(buf);
+	}
+
+	private StringBuilder acquireBuffer() {
+		StringBuilder buf = RECYCLED_BUFFER.get();
+		if (buf == null) {
+			// either first use on this thread or a re-entrant logging call
+			return new StringBuilder(INITIAL_BUFFER_CAPACITY);
+		}
+		RECYCLED_BUFFER.set(null);
+		return buf;
+	}
+
+	private void releaseBuffer(StringBuilder buf) {
+		if (buf.capacity() <= MAX_RECYCLED_BUFFER_CAPACITY) {
+			buf.setLength(0);
+			RECYCLED_BUFFER.set(buf);
+		}
+	}
 
+	/**
+	 * Append everything preceding the message, i.e. date-time, thread name,
+	 * level, logger name and markers, as configured.
+	 */
+	private void appendPrefix(StringBuilder buf, Level level, List<Marker> markers) {
 		// Append date-time if so configured
 		if (CONFIG_PARAMS.showDateTime) {
 			if (CONFIG_PARAMS.dateFormatter != null) {
@@ -407,16 +555,17 @@ public class SimpleLogger extends LegacyAbstractLogger {
 				buf.append(marker.getName()).append(SP);		
 			}
 		}
-		
-		String formattedMessage = MessageFormatter.basicArrayFormat(messagePattern, arguments);
-
-		// Append the message
-		buf.append(formattedMessage);
+	}
 
-		write(buf, t);
+	private void appendKeyValuePairs(StringBuilder buf, List<KeyValuePair> keyValuePairs) {
+		if (keyValuePairs != null) {
+			for (KeyValuePair keyValuePair : keyValuePairs) {
+				buf.append(keyValuePair.key).append('=').append(keyValuePair.value).append(SP);
+			}
+		}
 	}
 
-	
+	@Override
 	public void log(LoggingEvent event) {
 		int levelInt = event.getLevel().toInt();
 
@@ -425,8 +574,23 @@ public class SimpleLogger extends LegacyAbstractLogger {
 		}
 		
 		NormalizedParameters np = NormalizedParameters.normalize(event);
-		
-		innerHandleNormalizedLoggingCall(event.getLevel(), event.getMarkers(), np.getMessage(), np.getArguments(), event.getThrowable());
+
+		StringBuilder buf = acquireBuffer();
+		if (CONFIG_PARAMS.jsonLayout) {
+			JsonLayout.beginMessage(buf, name, event.getLevel(), event.getMarkers(), event.getKeyValuePairs());
+			JsonLayout.appendMessage(buf, np);
+			JsonLayout.endMessage(buf, np.getThrowable());
+			write(event.getLevel(), buf, null);
+		} else {
+			appendPrefix(buf, event.getLevel(), event.getMarkers());
+			appendKeyValuePairs(buf, event.getKeyValuePairs());
+
+			// Append the message, primitive arguments are rendered without boxing
+			MessageFormatter.formatTo(buf, np);
+
+			write(event.getLevel(), buf, np.getThrowable());
+		}
+		releaseBuffer(buf);
 	}
 
 	@Override
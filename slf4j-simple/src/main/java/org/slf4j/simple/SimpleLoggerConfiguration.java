@@ -1,14 +1,18 @@
 package org.slf4j.simple;
 
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
-import java.io.PrintStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
-import java.text.DateFormat;
-import java.text.SimpleDateFormat;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.slf4j.helpers.Util;
 import org.slf4j.simple.OutputChoice.OutputChoiceType;
@@ -32,7 +36,7 @@ public class SimpleLoggerConfiguration {
     private static final String CONFIGURATION_FILE = "simplelogger.properties";
 
     static int DEFAULT_LOG_LEVEL_DEFAULT = SimpleLogger.LOG_LEVEL_INFO;
-    int defaultLogLevel = DEFAULT_LOG_LEVEL_DEFAULT;
+    volatile int defaultLogLevel = DEFAULT_LOG_LEVEL_DEFAULT;
 
     private static final boolean SHOW_DATE_TIME_DEFAULT = false;
     boolean showDateTime = SHOW_DATE_TIME_DEFAULT;
@@ -40,7 +44,7 @@ public class SimpleLoggerConfiguration {
     private static final String DATE_TIME_FORMAT_STR_DEFAULT = null;
     private static String dateTimeFormatStr = DATE_TIME_FORMAT_STR_DEFAULT;
 
-    DateFormat dateFormatter = null;
+    CachingDateTimeFormatter dateFormatter = null;
 
     private static final boolean SHOW_THREAD_NAME_DEFAULT = true;
     boolean showThreadName = SHOW_THREAD_NAME_DEFAULT;
@@ -58,13 +62,41 @@ public class SimpleLoggerConfiguration {
     private String logFile = LOG_FILE_DEFAULT;
     OutputChoice outputChoice = null;
 
+    private static final int FILE_BUFFER_SIZE_DEFAULT = 8192;
+    private static final long FILE_FLUSH_INTERVAL_DEFAULT = 1000;
+    private static final long FILE_FORCE_BYTES_DEFAULT = 0;
+
     private static final boolean CACHE_OUTPUT_STREAM_DEFAULT = false;
     private boolean cacheOutputStream = CACHE_OUTPUT_STREAM_DEFAULT;
 
+    private static final boolean ASYNC_DEFAULT = false;
+    boolean async = ASYNC_DEFAULT;
+
+    private static final int ASYNC_BUFFER_SIZE_DEFAULT = 8192;
+    private static final AsyncWriter.WaitStrategy ASYNC_WAIT_STRATEGY_DEFAULT = AsyncWriter.WaitStrategy.BLOCKING;
+    private static final AsyncWriter.QueueFullPolicy ASYNC_QUEUE_FULL_POLICY_DEFAULT = AsyncWriter.QueueFullPolicy.BLOCK;
+    AsyncWriter asyncWriter = null;
+
     private static final String WARN_LEVELS_STRING_DEFAULT = "WARN";
     String warnLevelString = WARN_LEVELS_STRING_DEFAULT;
 
-    private final Properties properties = new Properties();
+    private volatile Properties properties = new Properties();
+
+    volatile LevelIndex levelIndex = new LevelIndex();
+
+    private URL configurationResource;
+    private String configurationFile;
+
+    boolean jsonLayout = false;
+
+    private static final boolean JMX_DEFAULT = false;
+    boolean jmx = JMX_DEFAULT;
+    WriteStatistics statistics = null;
+
+    private static final boolean WATCH_CONFIGURATION_DEFAULT = false;
+    private ConfigurationWatcher configurationWatcher = null;
+    Thread shutdownHook = null;
+    private final List<Runnable> reloadListeners = new CopyOnWriteArrayList<Runnable>();
 
     void init() {
         loadProperties();
@@ -73,6 +105,8 @@ public class SimpleLoggerConfiguration {
         if (defaultLogLevelString != null)
             defaultLogLevel = stringToLevel(defaultLogLevelString);
 
+        levelIndex = computeLevelIndex();
+
         showLogName = getBooleanProperty(SimpleLogger.SHOW_LOG_NAME_KEY, SimpleLoggerConfiguration.SHOW_LOG_NAME_DEFAULT);
         showShortLogName = getBooleanProperty(SimpleLogger.SHOW_SHORT_LOG_NAME_KEY, SHOW_SHORT_LOG_NAME_DEFAULT);
         showDateTime = getBooleanProperty(SimpleLogger.SHOW_DATE_TIME_KEY, SHOW_DATE_TIME_DEFAULT);
@@ -86,9 +120,44 @@ public class SimpleLoggerConfiguration {
         cacheOutputStream = getBooleanProperty(SimpleLogger.CACHE_OUTPUT_STREAM_STRING_KEY, CACHE_OUTPUT_STREAM_DEFAULT);
         outputChoice = computeOutputChoice(logFile, cacheOutputStream);
 
+        async = getBooleanProperty(SimpleLogger.ASYNC_KEY, ASYNC_DEFAULT);
+        if (async) {
+            asyncWriter = computeAsyncWriter();
+            asyncWriter.start();
+        }
+        if (asyncWriter != null || outputChoice.getFileSink() != null) {
+            addShutdownHook();
+        }
+
+        String layoutStr = getStringProperty(SimpleLogger.LAYOUT_KEY, null);
+        if ("json".equalsIgnoreCase(layoutStr)) {
+            jsonLayout = true;
+        } else if (layoutStr != null && !"text".equalsIgnoreCase(layoutStr)) {
+            Util.report("Bad value [" + layoutStr + "] for " + SimpleLogger.LAYOUT_KEY + "; will use text");
+        }
+
+        jmx = getBooleanProperty(SimpleLogger.JMX_KEY, JMX_DEFAULT);
+        if (jmx) {
+            statistics = new WriteStatistics();
+        }
+
+        if (getBooleanProperty(SimpleLogger.WATCH_CONFIGURATION_KEY, WATCH_CONFIGURATION_DEFAULT)) {
+            Path watchedFile = getWatchableConfigurationFile();
+            if (watchedFile != null) {
+                try {
+                    configurationWatcher = new ConfigurationWatcher(watchedFile, this::reloadLevels);
+                    configurationWatcher.start();
+                } catch (IOException e) {
+                    Util.report("Could not watch [" + watchedFile + "] for changes", e);
+                }
+            } else {
+                Util.report("No configuration file to watch for changes");
+            }
+        }
+
         if (dateTimeFormatStr != null) {
             try {
-                dateFormatter = new SimpleDateFormat(dateTimeFormatStr);
+                dateFormatter = new CachingDateTimeFormatter(dateTimeFormatStr);
             } catch (IllegalArgumentException e) {
                 Util.report("Bad date format in " + CONFIGURATION_FILE + "; will output relative time", e);
             }
@@ -97,27 +166,128 @@ public class SimpleLoggerConfiguration {
 
     private void loadProperties() {
         // Add props from the resource simplelogger.properties
-        InputStream in = AccessController.doPrivileged(new PrivilegedAction<InputStream>() {
-            public InputStream run() {
+        configurationResource = AccessController.doPrivileged(new PrivilegedAction<URL>() {
+            public URL run() {
                 ClassLoader threadCL = Thread.currentThread().getContextClassLoader();
                 if (threadCL != null) {
-                    return threadCL.getResourceAsStream(CONFIGURATION_FILE);
+                    return threadCL.getResource(CONFIGURATION_FILE);
                 } else {
-                    return ClassLoader.getSystemResourceAsStream(CONFIGURATION_FILE);
+                    return ClassLoader.getSystemResource(CONFIGURATION_FILE);
                 }
             }
         });
-        if (null != in) {
-            try {
-                properties.load(in);
-            } catch (java.io.IOException e) {
+        loadResourceProperties(properties);
+
+        configurationFile = getStringProperty(SimpleLogger.CONFIGURATION_FILE_KEY, null);
+        // loaded after the resource, so as to take precedence over it
+        loadFileProperties(properties);
+    }
+
+    private void loadResourceProperties(Properties target) {
+        if (configurationResource != null) {
+            try (InputStream in = configurationResource.openStream()) {
+                target.load(in);
+            } catch (IOException e) {
                 // ignored
-            } finally {
-                try {
-                    in.close();
-                } catch (java.io.IOException e) {
-                    // ignored
-                }
+            }
+        }
+    }
+
+    private void loadFileProperties(Properties target) {
+        if (configurationFile != null) {
+            try (InputStream in = Files.newInputStream(Paths.get(configurationFile))) {
+                target.load(in);
+            } catch (IOException | InvalidPathException e) {
+                Util.report("Could not read [" + configurationFile + "]", e);
+            }
+        }
+    }
+
+    /**
+     * Return the configuration file on the file system, external or found as
+     * a resource, or null if there is none.
+     */
+    Path getWatchableConfigurationFile() {
+        if (configurationFile != null) {
+            try {
+                return Paths.get(configurationFile).toAbsolutePath();
+            } catch (InvalidPathException e) {
+                return null;
+            }
+        }
+        if (configurationResource != null && "file".equals(configurationResource.getProtocol())) {
+            try {
+                return Paths.get(configurationResource.toURI());
+            } catch (URISyntaxException | IllegalArgumentException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Read the configuration anew and recompute the default level and the
+     * level index accordingly. Other settings are left untouched. Listeners
+     * registered through {@link #addReloadListener(Runnable)} are then
+     * invoked.
+     */
+    void reloadLevels() {
+        Properties reloaded = new Properties();
+        loadResourceProperties(reloaded);
+        loadFileProperties(reloaded);
+        properties = reloaded;
+
+        String defaultLogLevelString = getStringProperty(SimpleLogger.DEFAULT_LOG_LEVEL_KEY, null);
+        defaultLogLevel = defaultLogLevelString != null ? stringToLevel(defaultLogLevelString) : DEFAULT_LOG_LEVEL_DEFAULT;
+        levelIndex = computeLevelIndex();
+
+        for (Runnable listener : reloadListeners) {
+            listener.run();
+        }
+    }
+
+    void addReloadListener(Runnable listener) {
+        reloadListeners.add(listener);
+    }
+
+    /**
+     * Move the reload listeners of a configuration being replaced to this
+     * one, so that they survive re-initialization.
+     */
+    void takeOverReloadListeners(SimpleLoggerConfiguration previous) {
+        reloadListeners.addAll(previous.reloadListeners);
+        previous.reloadListeners.clear();
+    }
+
+    /**
+     * Return the level of the logger named 'name' according to the current
+     * configuration.
+     */
+    int computeLevel(String name) {
+        int level = levelIndex.getEffectiveLevel(name);
+        return level != LevelIndex.UNSET ? level : defaultLogLevel;
+    }
+
+    /**
+     * Index the levels of <code>org.slf4j.simpleLogger.log.*</code> entries,
+     * system properties taking precedence over the configuration file.
+     */
+    private LevelIndex computeLevelIndex() {
+        LevelIndex index = new LevelIndex();
+        indexLevels(index, properties);
+        try {
+            indexLevels(index, System.getProperties());
+        } catch (SecurityException e) {
+            ; // Ignore
+        }
+        return index;
+    }
+
+    private static void indexLevels(LevelIndex index, Properties props) {
+        for (String key : props.stringPropertyNames()) {
+            if (key.startsWith(SimpleLogger.LOG_KEY_PREFIX)) {
+                String loggerName = key.substring(SimpleLogger.LOG_KEY_PREFIX.length());
+                index.setLevel(loggerName, stringToLevel(props.getProperty(key)));
             }
         }
     }
@@ -142,6 +312,95 @@ public class SimpleLoggerConfiguration {
         return (prop == null) ? properties.getProperty(name) : prop;
     }
 
+    private AsyncWriter computeAsyncWriter() {
+        int bufferSize = ASYNC_BUFFER_SIZE_DEFAULT;
+        String bufferSizeStr = getStringProperty(SimpleLogger.ASYNC_BUFFER_SIZE_KEY, null);
+        if (bufferSizeStr != null) {
+            try {
+                bufferSize = Integer.parseInt(bufferSizeStr.trim());
+            } catch (NumberFormatException e) {
+                Util.report("Bad value [" + bufferSizeStr + "] for " + SimpleLogger.ASYNC_BUFFER_SIZE_KEY + "; will use " + ASYNC_BUFFER_SIZE_DEFAULT, e);
+            }
+        }
+
+        AsyncWriter.WaitStrategy waitStrategy = ASYNC_WAIT_STRATEGY_DEFAULT;
+        String waitStrategyStr = getStringProperty(SimpleLogger.ASYNC_WAIT_STRATEGY_KEY, null);
+        if ("blocking".equalsIgnoreCase(waitStrategyStr)) {
+            waitStrategy = AsyncWriter.WaitStrategy.BLOCKING;
+        } else if ("sleeping".equalsIgnoreCase(waitStrategyStr)) {
+            waitStrategy = AsyncWriter.WaitStrategy.SLEEPING;
+        } else if ("yielding".equalsIgnoreCase(waitStrategyStr)) {
+            waitStrategy = AsyncWriter.WaitStrategy.YIELDING;
+        } else if (waitStrategyStr != null) {
+            Util.report("Bad value [" + waitStrategyStr + "] for " + SimpleLogger.ASYNC_WAIT_STRATEGY_KEY + "; will use blocking");
+        }
+
+        AsyncWriter.QueueFullPolicy queueFullPolicy = ASYNC_QUEUE_FULL_POLICY_DEFAULT;
+        String queueFullPolicyStr = getStringProperty(SimpleLogger.ASYNC_QUEUE_FULL_POLICY_KEY, null);
+        if ("block".equalsIgnoreCase(queueFullPolicyStr)) {
+            queueFullPolicy = AsyncWriter.QueueFullPolicy.BLOCK;
+        } else if ("dropBelowWarn".equalsIgnoreCase(queueFullPolicyStr)) {
+            queueFullPolicy = AsyncWriter.QueueFullPolicy.DROP_BELOW_WARN;
+        } else if ("discard".equalsIgnoreCase(queueFullPolicyStr)) {
+            queueFullPolicy = AsyncWriter.QueueFullPolicy.DISCARD;
+        } else if (queueFullPolicyStr != null) {
+            Util.report("Bad value [" + queueFullPolicyStr + "] for " + SimpleLogger.ASYNC_QUEUE_FULL_POLICY_KEY + "; will use block");
+        }
+
+        return new AsyncWriter(outputChoice, bufferSize, waitStrategy, queueFullPolicy);
+    }
+
+    // A single hook, so that the asynchronous writer is drained before the
+    // file is closed. The JVM runs distinct hooks concurrently.
+    private void addShutdownHook() {
+        Thread hook = new Thread(this::close, "slf4j-simple-shutdown");
+        try {
+            Runtime.getRuntime().addShutdownHook(hook);
+            shutdownHook = hook;
+        } catch (IllegalStateException | SecurityException e) {
+            // shutdown already in progress or not permitted
+        }
+    }
+
+    /**
+     * Stop the asynchronous writer, if any, once all pending messages are
+     * written, then close the log file, if any.
+     */
+    synchronized void close() {
+        if (shutdownHook != null) {
+            if (Thread.currentThread() != shutdownHook) {
+                try {
+                    Runtime.getRuntime().removeShutdownHook(shutdownHook);
+                } catch (IllegalStateException | SecurityException e) {
+                    // shutdown in progress, the hook closes this configuration
+                }
+            }
+            shutdownHook = null;
+        }
+        if (configurationWatcher != null) {
+            configurationWatcher.stop();
+        }
+        if (asyncWriter != null) {
+            asyncWriter.stop();
+        }
+        if (outputChoice != null && outputChoice.getFileSink() != null) {
+            outputChoice.getFileSink().close();
+        }
+    }
+
+    long getLongProperty(String name, long defaultValue) {
+        String prop = getStringProperty(name);
+        if (prop == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(prop.trim());
+        } catch (NumberFormatException e) {
+            Util.report("Bad value [" + prop + "] for " + name + "; will use " + defaultValue, e);
+            return defaultValue;
+        }
+    }
+
     static int stringToLevel(String levelStr) {
         if ("trace".equalsIgnoreCase(levelStr)) {
             return SimpleLogger.LOG_LEVEL_TRACE;
@@ -160,7 +419,25 @@ public class SimpleLoggerConfiguration {
         return SimpleLogger.LOG_LEVEL_INFO;
     }
 
-    private static OutputChoice computeOutputChoice(String logFile, boolean cacheOutputStream) {
+    static String levelToString(int level) {
+        switch (level) {
+        case SimpleLogger.LOG_LEVEL_TRACE:
+            return "TRACE";
+        case SimpleLogger.LOG_LEVEL_DEBUG:
+            return "DEBUG";
+        case SimpleLogger.LOG_LEVEL_INFO:
+            return "INFO";
+        case SimpleLogger.LOG_LEVEL_WARN:
+            return "WARN";
+        case SimpleLogger.LOG_LEVEL_ERROR:
+            return "ERROR";
+        case SimpleLogger.LOG_LEVEL_OFF:
+            return "OFF";
+        }
+        throw new IllegalArgumentException("Level number " + level + " is not recognized.");
+    }
+
+    private OutputChoice computeOutputChoice(String logFile, boolean cacheOutputStream) {
         if ("System.err".equalsIgnoreCase(logFile))
             if (cacheOutputStream)
                 return new OutputChoice(OutputChoiceType.CACHED_SYS_ERR);
@@ -172,11 +449,13 @@ public class SimpleLoggerConfiguration {
             else
                 return new OutputChoice(OutputChoiceType.SYS_OUT);
         } else {
+            int bufferSize = (int) getLongProperty(SimpleLogger.FILE_BUFFER_SIZE_KEY, FILE_BUFFER_SIZE_DEFAULT);
+            long flushInterval = getLongProperty(SimpleLogger.FILE_FLUSH_INTERVAL_KEY, FILE_FLUSH_INTERVAL_DEFAULT);
+            long forceBytes = getLongProperty(SimpleLogger.FILE_FORCE_BYTES_KEY, FILE_FORCE_BYTES_DEFAULT);
             try {
-                FileOutputStream fos = new FileOutputStream(logFile);
-                PrintStream printStream = new PrintStream(fos);
-                return new OutputChoice(printStream);
-            } catch (FileNotFoundException e) {
+                FileChannelSink fileSink = new FileChannelSink(logFile, bufferSize, flushInterval, forceBytes);
+                return new OutputChoice(fileSink);
+            } catch (IOException | RuntimeException e) {
                 Util.report("Could not open [" + logFile + "]. Defaulting to System.err", e);
                 return new OutputChoice(OutputChoiceType.SYS_ERR);
             }
@@ -28,7 +28,9 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
 import org.slf4j.Logger;
+import org.slf4j.LoggerFactoryFriend;
 import org.slf4j.ILoggerFactory;
+import org.slf4j.helpers.Util;
 
 /**
  * An implementation of {@link ILoggerFactory} which always returns
@@ -43,6 +45,15 @@ public class SimpleLoggerFactory implements ILoggerFactory {
     public SimpleLoggerFactory() {
         loggerMap = new ConcurrentHashMap<String, Logger>();
         SimpleLogger.lazyInit();
+        SimpleLogger.CONFIG_PARAMS.addReloadListener(this::recomputeLevels);
+        if (SimpleLogger.CONFIG_PARAMS.jmx) {
+            try {
+                SimpleLoggerManagement.register(this);
+            } catch (LinkageError e) {
+                // the java.management module is optional
+                Util.report("JMX is not available, " + SimpleLogger.JMX_KEY + " is ignored", e);
+            }
+        }
     }
 
     /**
@@ -59,6 +70,16 @@ public class SimpleLoggerFactory implements ILoggerFactory {
         }
     }
 
+    /**
+     * Reassign the level of every logger created so far according to the
+     * current configuration.
+     */
+    void recomputeLevels() {
+        for (Logger logger : loggerMap.values()) {
+            ((SimpleLogger) logger).recomputeLevel();
+        }
+    }
+
     /**
      * Clear the internal logger cache.
      *
@@ -70,5 +91,7 @@ public class SimpleLoggerFactory implements ILoggerFactory {
      */
     void reset() {
         loggerMap.clear();
+        // LoggerFactory.getLogger(Class) would return the discarded loggers
+        LoggerFactoryFriend.clearLoggerCache();
     }
 }
@@ -0,0 +1,81 @@
+package org.slf4j.simple;
+
+import java.util.List;
+
+/**
+ * Management interface of {@link SimpleLoggerFactory}, registered under
+ * {@link #OBJECT_NAME} when <code>org.slf4j.simpleLogger.jmx</code> is set to
+ * <code>true</code>.
+ *
+ * <p>Levels are designated by their names, i.e. "trace", "debug", "info",
+ * "warn", "error" or "off", irrespective of case.
+ *
+ * <p>Statistics cover the messages written since the configuration was last
+ * initialized or since {@link #resetStatistics()} was last invoked.
+ *
+ * @author Ceki G&uuml;lc&uuml;
+ * @since 2.0.0
+ */
+public interface SimpleLoggerMXBean {
+
+	String OBJECT_NAME = "org.slf4j.simple:type=SimpleLoggerFactory";
+
+	/**
+	 * The names of the loggers created so far, in alphabetical order.
+	 */
+	List<String> getLoggerNames();
+
+	/**
+	 * The effective level of the logger named 'loggerName', whether or not it
+	 * was created already.
+	 */
+	String getLoggerLevel(String loggerName);
+
+	/**
+	 * Assign a level to the logger named 'loggerName' and to its descendants
+	 * without a level of their own, existing or future. A null or empty level
+	 * removes the assignment so that the logger inherits the level of its
+	 * ancestors.
+	 *
+	 * <p>Assignments made at runtime are discarded when the configuration
+	 * file is reloaded.
+	 *
+	 * @throws IllegalArgumentException if the level is not recognized
+	 */
+	void setLoggerLevel(String loggerName, String level);
+
+	long getTraceEventCount();
+
+	long getDebugEventCount();
+
+	long getInfoEventCount();
+
+	long getWarnEventCount();
+
+	long getErrorEventCount();
+
+	/**
+	 * The number of characters of the messages written, including line
+	 * separators but not stack traces. The number of bytes depends on the
+	 * encoding of the target.
+	 */
+	long getCharsWritten();
+
+	/**
+	 * The number of messages written, or handed over to the background
+	 * thread in asynchronous mode.
+	 */
+	long getWriteCount();
+
+	/**
+	 * The time logging threads spent writing messages, or handing them over
+	 * to the background thread in asynchronous mode.
+	 */
+	long getTotalWriteNanos();
+
+	long getAverageWriteNanos();
+
+	long getMaxWriteNanos();
+
+	void resetStatistics();
+}
@@ -0,0 +1,149 @@
+package org.slf4j.simple;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.slf4j.event.Level;
+import org.slf4j.helpers.Util;
+
+/**
+ * Exposes a {@link SimpleLoggerFactory} and the statistics of the current
+ * configuration through JMX.
+ *
+ * @author Ceki G&uuml;lc&uuml;
+ * @since 2.0.0
+ */
+class SimpleLoggerManagement implements SimpleLoggerMXBean {
+
+	private final SimpleLoggerFactory factory;
+
+	SimpleLoggerManagement(SimpleLoggerFactory factory) {
+		this.factory = factory;
+	}
+
+	/**
+	 * Register an MBean for the given factory with the platform MBean server,
+	 * replacing the MBean of a previously created factory if any.
+	 */
+	static void register(SimpleLoggerFactory factory) {
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName objectName = new ObjectName(OBJECT_NAME);
+			synchronized (SimpleLoggerManagement.class) {
+				if (server.isRegistered(objectName)) {
+					server.unregisterMBean(objectName);
+				}
+				server.registerMBean(new SimpleLoggerManagement(factory), objectName);
+			}
+		} catch (JMException | SecurityException e) {
+			Util.report("Could not register the " + OBJECT_NAME + " MBean", e);
+		}
+	}
+
+	@Override
+	public List<String> getLoggerNames() {
+		List<String> names = new ArrayList<String>(factory.loggerMap.keySet());
+		Collections.sort(names);
+		return names;
+	}
+
+	@Override
+	public String getLoggerLevel(String loggerName) {
+		SimpleLogger logger = (SimpleLogger) factory.loggerMap.get(loggerName);
+		int level = logger != null ? logger.currentLogLevel : SimpleLogger.CONFIG_PARAMS.computeLevel(loggerName);
+		return SimpleLoggerConfiguration.levelToString(level);
+	}
+
+	@Override
+	public void setLoggerLevel(String loggerName, String level) {
+		LevelIndex levelIndex = SimpleLogger.CONFIG_PARAMS.levelIndex;
+		if (level == null || level.trim().isEmpty()) {
+			levelIndex.removeLevel(loggerName);
+		} else {
+			int levelInt = SimpleLoggerConfiguration.stringToLevel(level.trim());
+			if (!SimpleLoggerConfiguration.levelToString(levelInt).equalsIgnoreCase(level.trim())) {
+				throw new IllegalArgumentException("Unknown level [" + level + "]");
+			}
+			levelIndex.setLevel(loggerName, levelInt);
+		}
+		factory.recomputeLevels();
+	}
+
+	private static long eventCount(Level level) {
+		WriteStatistics statistics = SimpleLogger.CONFIG_PARAMS.statistics;
+		return statistics == null ? 0 : statistics.getEventCount(level);
+	}
+
+	@Override
+	public long getTraceEventCount() {
+		return eventCount(Level.TRACE);
+	}
+
+	@Override
+	public long getDebugEventCount() {
+		return eventCount(Level.DEBUG);
+	}
+
+	@Override
+	public long getInfoEventCount() {
+		return eventCount(Level.INFO);
+	}
+
+	@Override
+	public long getWarnEventCount() {
+		return eventCount(Level.WARN);
+	}
+
+	@Override
+	public long getErrorEventCount() {
+		return eventCount(Level.ERROR);
+	}
+
+	@Override
+	public long getCharsWritten() {
+		WriteStatistics statistics = SimpleLogger.CONFIG_PARAMS.statistics;
+		return statistics == null ? 0 : statistics.getCharsWritten();
+	}
+
+	@Override
+	public long getWriteCount() {
+		WriteStatistics statistics = SimpleLogger.CONFIG_PARAMS.statistics;
+		return statistics == null ? 0 : statistics.getWriteCount();
+	}
+
+	@Override
+	public long getTotalWriteNanos() {
+		WriteStatistics statistics = SimpleLogger.CONFIG_PARAMS.statistics;
+		return statistics == null ? 0 : statistics.getTotalWriteNanos();
+	}
+
+	@Override
+	public long getAverageWriteNanos() {
+		WriteStatistics statistics = SimpleLogger.CONFIG_PARAMS.statistics;
+		if (statistics == null) {
+			return 0;
+		}
+		long count = statistics.getWriteCount();
+		return count == 0 ? 0 : statistics.getTotalWriteNanos() / count;
+	}
+
+	@Override
+	public long getMaxWriteNanos() {
+		WriteStatistics statistics = SimpleLogger.CONFIG_PARAMS.statistics;
+		return statistics == null ? 0 : statistics.getMaxWriteNanos();
+	}
+
+	@Override
+	public void resetStatistics() {
+		WriteStatistics statistics = SimpleLogger.CONFIG_PARAMS.statistics;
+		if (statistics != null) {
+			statistics.reset();
+		}
+	}
+}
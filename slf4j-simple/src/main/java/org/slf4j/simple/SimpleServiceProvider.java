@@ -2,6 +2,7 @@ package org.slf4j.simple;
 
 import org.slf4j.ILoggerFactory;
 import org.slf4j.IMarkerFactory;
+import org.slf4j.helpers.BasicMDCAdapter;
 import org.slf4j.helpers.BasicMarkerFactory;
 import org.slf4j.helpers.NOPMDCAdapter;
 import org.slf4j.spi.MDCAdapter;
@@ -42,7 +43,13 @@ public class SimpleServiceProvider implements SLF4JServiceProvider {
 
           loggerFactory = new SimpleLoggerFactory();
           markerFactory = new BasicMarkerFactory();
-          mdcAdapter = new NOPMDCAdapter();
+          // only the JSON layout outputs MDC entries, there is no point in
+          // retaining them otherwise
+          if (SimpleLogger.CONFIG_PARAMS.jsonLayout) {
+              mdcAdapter = new BasicMDCAdapter();
+          } else {
+              mdcAdapter = new NOPMDCAdapter();
+          }
     }
     
 }
@@ -0,0 +1,78 @@
+package org.slf4j.simple;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.event.Level;
+
+/**
+ * Counts the messages written by {@link SimpleLogger}, their length and the
+ * time spent writing them.
+ *
+ * <p>All counters are {@link LongAdder}s, i.e. striped across cells, so that
+ * logging threads updating them concurrently do not contend on a single
+ * memory location. Reading a counter sums its cells and is therefore only
+ * accurate in the absence of concurrent updates.
+ *
+ * @author Ceki G&uuml;lc&uuml;
+ * @since 2.0.0
+ */
+class WriteStatistics {
+
+	// indexed by Level.ordinal()
+	private final LongAdder[] eventCounts;
+	private final LongAdder charsWritten = new LongAdder();
+	private final LongAdder writeCount = new LongAdder();
+	private final LongAdder totalWriteNanos = new LongAdder();
+	private final LongAccumulator maxWriteNanos = new LongAccumulator(Math::max, 0);
+
+	WriteStatistics() {
+		Level[] levels = Level.values();
+		eventCounts = new LongAdder[levels.length];
+		for (int i = 0; i < levels.length; i++) {
+			eventCounts[i] = new LongAdder();
+		}
+	}
+
+	/**
+	 * Record a message of the given level and length, written or handed over
+	 * to the asynchronous writer in 'nanos' nanoseconds.
+	 */
+	void record(Level level, int length, long nanos) {
+		eventCounts[level.ordinal()].increment();
+		charsWritten.add(length);
+		writeCount.increment();
+		totalWriteNanos.add(nanos);
+		maxWriteNanos.accumulate(nanos);
+	}
+
+	long getEventCount(Level level) {
+		return eventCounts[level.ordinal()].sum();
+	}
+
+	long getCharsWritten() {
+		return charsWritten.sum();
+	}
+
+	long getWriteCount() {
+		return writeCount.sum();
+	}
+
+	long getTotalWriteNanos() {
+		return totalWriteNanos.sum();
+	}
+
+	long getMaxWriteNanos() {
+		return maxWriteNanos.get();
+	}
+
+	void reset() {
+		for (LongAdder eventCount : eventCounts) {
+			eventCount.reset();
+		}
+		charsWritten.reset();
+		writeCount.reset();
+		totalWriteNanos.reset();
+		maxWriteNanos.reset();
+	}
+}
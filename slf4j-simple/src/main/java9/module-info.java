@@ -1,4 +1,8 @@
 module org.slf4j.simple { 
   requires org.slf4j;
+  // only needed when org.slf4j.simpleLogger.jmx is set
+  requires static java.management;
+  // lets JMX introspect SimpleLoggerMXBean
+  exports org.slf4j.simple to java.management;
   provides org.slf4j.spi.SLF4JServiceProvider with org.slf4j.simple.SimpleServiceProvider;
 }
@@ -0,0 +1,183 @@
+package org.slf4j.simple;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.event.Level;
+import org.slf4j.simple.AsyncWriter.QueueFullPolicy;
+import org.slf4j.simple.AsyncWriter.WaitStrategy;
+
+public class AsyncWriterTest {
+
+    static final int THREAD_COUNT = 8;
+    static final int MESSAGES_PER_THREAD = 2000;
+
+    SimpleLogger logger;
+    ByteArrayOutputStream bout = new ByteArrayOutputStream();
+    PrintStream original = System.err;
+
+    @Before
+    public void before() {
+        SimpleLogger.init();
+        logger = new SimpleLogger(AsyncWriterTest.class.getName());
+    }
+
+    @After
+    public void after() {
+        System.clearProperty(SimpleLogger.ASYNC_KEY);
+        System.setErr(original);
+        SimpleLogger.init();
+    }
+
+    @Test
+    public void ceilingPowerOfTwo() {
+        assertEquals(1, AsyncWriter.ceilingPowerOfTwo(0));
+        assertEquals(1, AsyncWriter.ceilingPowerOfTwo(1));
+        assertEquals(8, AsyncWriter.ceilingPowerOfTwo(5));
+        assertEquals(8, AsyncWriter.ceilingPowerOfTwo(8));
+        assertEquals(1 << 30, AsyncWriter.ceilingPowerOfTwo(Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void stopDrainsMessagesLeftInTheBuffer() {
+        // never started, as if the writer thread had already drained the
+        // buffer when the message was published
+        AsyncWriter writer = new AsyncWriter(new OutputChoice(new PrintStream(bout)), 8, WaitStrategy.SLEEPING, QueueFullPolicy.BLOCK);
+        writer.enqueue(logger, Level.INFO, "published late", null);
+        assertEquals(0, bout.size());
+        writer.stop();
+        assertEquals("published late" + System.lineSeparator(), bout.toString());
+    }
+
+    @Test
+    public void allMessagesAreWrittenInOrderPerThread() throws InterruptedException {
+        for (WaitStrategy waitStrategy : WaitStrategy.values()) {
+            bout.reset();
+            AsyncWriter writer = new AsyncWriter(new OutputChoice(new PrintStream(bout)), 64, waitStrategy, QueueFullPolicy.BLOCK);
+            writer.start();
+
+            List<Thread> threads = new ArrayList<>();
+            for (int i = 0; i < THREAD_COUNT; i++) {
+                final String prefix = "t" + i + "-";
+                Thread thread = new Thread(() -> {
+                    for (int j = 0; j < MESSAGES_PER_THREAD; j++) {
+                        writer.enqueue(logger, Level.INFO, prefix + j, null);
+                    }
+                });
+                threads.add(thread);
+                thread.start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            writer.stop();
+
+            String[] lines = bout.toString().split(System.lineSeparator());
+            assertEquals(waitStrategy.toString(), THREAD_COUNT * MESSAGES_PER_THREAD, lines.length);
+            int[] next = new int[THREAD_COUNT];
+            for (String line : lines) {
+                int dash = line.indexOf('-');
+                int thread = Integer.parseInt(line.substring(1, dash));
+                assertEquals(line, next[thread]++, Integer.parseInt(line.substring(dash + 1)));
+            }
+        }
+    }
+
+    @Test
+    public void messagesBelowWarnAreDroppedWhenFull() throws InterruptedException {
+        StalledOutputStream stalledOutputStream = new StalledOutputStream(bout);
+        PrintStream stalled = new PrintStream(stalledOutputStream);
+        AsyncWriter writer = new AsyncWriter(new OutputChoice(stalled), 4, WaitStrategy.BLOCKING, QueueFullPolicy.DROP_BELOW_WARN);
+        writer.start();
+
+        // the first message stalls the writer, the next four fill the buffer
+        writer.enqueue(logger, Level.WARN, "w0", null);
+        stalledOutputStream.entered.await();
+        for (int i = 1; i < 5; i++) {
+            writer.enqueue(logger, Level.WARN, "w" + i, null);
+        }
+        assertTrue(writer.isFull());
+        writer.enqueue(logger, Level.INFO, "dropped", null);
+        assertEquals(1, writer.getDroppedCount());
+
+        stalledOutputStream.release.countDown();
+        writer.stop();
+        String output = bout.toString();
+        assertTrue(output, output.contains("w4"));
+        assertTrue(output, !output.contains("dropped"));
+    }
+
+    @Test
+    public void allMessagesAreDiscardedWhenFull() throws InterruptedException {
+        StalledOutputStream stalledOutputStream = new StalledOutputStream(bout);
+        PrintStream stalled = new PrintStream(stalledOutputStream);
+        AsyncWriter writer = new AsyncWriter(new OutputChoice(stalled), 4, WaitStrategy.SLEEPING, QueueFullPolicy.DISCARD);
+        writer.start();
+
+        writer.enqueue(logger, Level.WARN, "w0", null);
+        stalledOutputStream.entered.await();
+        for (int i = 1; i < 5; i++) {
+            writer.enqueue(logger, Level.WARN, "w" + i, null);
+        }
+        assertTrue(writer.isFull());
+        writer.enqueue(logger, Level.ERROR, "discarded", null);
+        assertEquals(1, writer.getDroppedCount());
+
+        stalledOutputStream.release.countDown();
+        writer.stop();
+        assertTrue(!bout.toString().contains("discarded"));
+    }
+
+    @Test
+    public void simpleLoggerInAsyncMode() {
+        System.setProperty(SimpleLogger.ASYNC_KEY, "true");
+        SimpleLogger.init();
+        PrintStream replacement = new PrintStream(bout);
+        System.setErr(replacement);
+
+        Exception e = new Exception("boom");
+        logger.info("hello {}", "world");
+        logger.warn("trouble", e);
+        // stops the writer, draining pending messages
+        SimpleLogger.CONFIG_PARAMS.close();
+
+        String output = bout.toString();
+        assertTrue(output, output.contains("INFO " + AsyncWriterTest.class.getName() + " - hello world"));
+        assertTrue(output, output.contains("java.lang.Exception: boom"));
+        assertTrue(output.indexOf("hello world") < output.indexOf("trouble"));
+    }
+
+    /**
+     * Blocks writes until released.
+     */
+    static class StalledOutputStream extends OutputStream {
+        final ByteArrayOutputStream delegate;
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        StalledOutputStream(ByteArrayOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) {
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            delegate.write(b);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package org.slf4j.simple;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.time.ZoneOffset;
+
+import org.junit.Test;
+
+public class CachingDateTimeFormatterTest {
+
+    @Test
+    public void subSecondFieldDetection() {
+        assertTrue(CachingDateTimeFormatter.hasSubSecondField("HH:mm:ss.SSS"));
+        assertTrue(CachingDateTimeFormatter.hasSubSecondField("nnnnnn"));
+        assertFalse(CachingDateTimeFormatter.hasSubSecondField("yyyy-MM-dd HH:mm:ss Z"));
+        assertFalse(CachingDateTimeFormatter.hasSubSecondField("HH:mm:ss 'Sunday'"));
+    }
+
+    @Test
+    public void textIsReusedWithinTheSameSecond() {
+        CachingDateTimeFormatter formatter = new CachingDateTimeFormatter("yyyy-MM-dd HH:mm:ss", ZoneOffset.UTC);
+        String first = formatter.format(1000L);
+        assertEquals("1970-01-01 00:00:01", first);
+        assertSame(first, formatter.format(1999L));
+        assertEquals("1970-01-01 00:00:02", formatter.format(2000L));
+        assertEquals("1969-12-31 23:59:59", formatter.format(-1L));
+    }
+
+    @Test
+    public void textIsReusedWithinTheSameMillisecondOnly() {
+        CachingDateTimeFormatter formatter = new CachingDateTimeFormatter("HH:mm:ss.SSS", ZoneOffset.UTC);
+        String first = formatter.format(1001L);
+        assertEquals("00:00:01.001", first);
+        assertSame(first, formatter.format(1001L));
+        assertEquals("00:00:01.002", formatter.format(1002L));
+    }
+
+    @Test
+    public void simpleDateFormatSpecificPatterns() {
+        assertTrue(CachingDateTimeFormatter.isSimpleDateFormatSpecific("yyyy-MM-dd u"));
+        assertTrue(CachingDateTimeFormatter.isSimpleDateFormatSpecific("HH:mm:ss.S"));
+        assertFalse(CachingDateTimeFormatter.isSimpleDateFormatSpecific("HH:mm:ss.SSS"));
+        assertFalse(CachingDateTimeFormatter.isSimpleDateFormatSpecific("HH:mm:ss 'uF'"));
+
+        // 1970-01-01 was a Thursday, day 4 of the week for SimpleDateFormat
+        CachingDateTimeFormatter formatter = new CachingDateTimeFormatter("yyyy-MM-dd u", ZoneOffset.UTC);
+        assertEquals("1970-01-01 4", formatter.format(0L));
+        formatter = new CachingDateTimeFormatter("ss.S", ZoneOffset.UTC);
+        assertEquals("01.7", formatter.format(1007L));
+    }
+
+    @Test
+    public void patternRejectedByDateTimeFormatter() {
+        CachingDateTimeFormatter formatter = new CachingDateTimeFormatter("{HH:mm}", ZoneOffset.UTC);
+        assertEquals("{00:01}", formatter.format(60000L));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidPattern() {
+        new CachingDateTimeFormatter("yyyy-MM-dd b");
+    }
+}
@@ -0,0 +1,95 @@
+package org.slf4j.simple;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ConfigurationReloadTest {
+
+    File file;
+
+    @Before
+    public void before() throws IOException {
+        file = File.createTempFile("simplelogger", ".properties");
+        writeConfiguration("org.slf4j.simpleLogger.log.reload.a = warn\n");
+        System.setProperty(SimpleLogger.CONFIGURATION_FILE_KEY, file.getPath());
+    }
+
+    @After
+    public void after() {
+        System.clearProperty(SimpleLogger.CONFIGURATION_FILE_KEY);
+        System.clearProperty(SimpleLogger.WATCH_CONFIGURATION_KEY);
+        SimpleLogger.init();
+        file.delete();
+    }
+
+    void writeConfiguration(String contents) throws IOException {
+        Files.write(file.toPath(), contents.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    @Test
+    public void levelsAreReadFromExternalFile() {
+        SimpleLogger.init();
+        SimpleLoggerFactory factory = new SimpleLoggerFactory();
+        SimpleLogger logger = (SimpleLogger) factory.getLogger("reload.a.b");
+        assertFalse(logger.isInfoEnabled());
+        assertTrue(logger.isWarnEnabled());
+    }
+
+    @Test
+    public void reloadUpdatesExistingAndFutureLoggers() throws IOException {
+        SimpleLogger.init();
+        SimpleLoggerFactory factory = new SimpleLoggerFactory();
+        SimpleLogger existing = (SimpleLogger) factory.getLogger("reload.a.b");
+        SimpleLogger other = (SimpleLogger) factory.getLogger("reload.other");
+        assertFalse(existing.isDebugEnabled());
+
+        writeConfiguration("org.slf4j.simpleLogger.defaultLogLevel = error\norg.slf4j.simpleLogger.log.reload.a = debug\n");
+        SimpleLogger.CONFIG_PARAMS.reloadLevels();
+
+        assertTrue(existing.isDebugEnabled());
+        assertFalse(existing.isTraceEnabled());
+        assertFalse(other.isWarnEnabled());
+        assertTrue(((SimpleLogger) factory.getLogger("reload.a.c")).isDebugEnabled());
+    }
+
+    @Test
+    public void reloadListenersSurviveReinitialization() throws IOException {
+        SimpleLogger.init();
+        SimpleLoggerFactory factory = new SimpleLoggerFactory();
+        SimpleLogger existing = (SimpleLogger) factory.getLogger("reload.a.b");
+        assertFalse(existing.isDebugEnabled());
+
+        SimpleLogger.init();
+        writeConfiguration("org.slf4j.simpleLogger.log.reload.a = debug\n");
+        SimpleLogger.CONFIG_PARAMS.reloadLevels();
+
+        assertTrue(existing.isDebugEnabled());
+    }
+
+    @Test
+    public void fileChangesAreWatched() throws Exception {
+        System.setProperty(SimpleLogger.WATCH_CONFIGURATION_KEY, "true");
+        SimpleLogger.init();
+        SimpleLoggerFactory factory = new SimpleLoggerFactory();
+        SimpleLogger logger = (SimpleLogger) factory.getLogger("reload.a");
+        assertFalse(logger.isInfoEnabled());
+
+        writeConfiguration("org.slf4j.simpleLogger.log.reload.a = trace\n");
+        long deadline = System.currentTimeMillis() + 10 * 1000;
+        while (!logger.isTraceEnabled() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertTrue(logger.isTraceEnabled());
+        assertEquals(SimpleLogger.LOG_LEVEL_TRACE, logger.currentLogLevel);
+    }
+}
@@ -0,0 +1,119 @@
+package org.slf4j.simple;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.event.Level;
+
+public class FileChannelSinkTest {
+
+    static final String SEP = System.lineSeparator();
+
+    File file;
+    SimpleLogger logger;
+
+    @Before
+    public void before() throws IOException {
+        file = File.createTempFile("slf4j-simple", ".log");
+        SimpleLogger.init();
+        logger = new SimpleLogger(FileChannelSinkTest.class.getName());
+    }
+
+    @After
+    public void after() {
+        System.clearProperty(SimpleLogger.LOG_FILE_KEY);
+        System.clearProperty(SimpleLogger.FILE_FLUSH_INTERVAL_KEY);
+        System.clearProperty(SimpleLogger.ASYNC_KEY);
+        SimpleLogger.init();
+        file.delete();
+    }
+
+    String contents() throws IOException {
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void messagesBelowWarnAreBuffered() throws IOException {
+        FileChannelSink sink = new FileChannelSink(file.getPath(), 1024, 60 * 1000, 0);
+        sink.write(logger, Level.INFO, "héllo", null);
+        assertEquals("", contents());
+
+        sink.write(logger, Level.WARN, "w€", null);
+        assertEquals("héllo" + SEP + "w€" + SEP, contents());
+        sink.close();
+    }
+
+    @Test
+    public void fullBufferIsWritten() throws IOException {
+        FileChannelSink sink = new FileChannelSink(file.getPath(), 16, 60 * 1000, 1);
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 10; i++) {
+            String text = "message é€ number " + i;
+            sink.write(logger, Level.DEBUG, text, null);
+            expected.append(text).append(SEP);
+        }
+        assertTrue(contents().length() >= expected.length() - 16);
+        sink.close();
+        assertEquals(expected.toString(), contents());
+    }
+
+    @Test
+    public void zeroFlushIntervalWritesEveryMessage() throws IOException {
+        FileChannelSink sink = new FileChannelSink(file.getPath(), 1024, 0, 0);
+        sink.write(logger, Level.TRACE, "a", null);
+        assertEquals("a" + SEP, contents());
+        sink.close();
+    }
+
+    @Test
+    public void stackTraceIsWritten() throws IOException {
+        FileChannelSink sink = new FileChannelSink(file.getPath(), 1024, 60 * 1000, 0);
+        sink.write(logger, Level.ERROR, "failure", new Exception("boom"));
+        String contents = contents();
+        assertTrue(contents, contents.startsWith("failure" + SEP + "java.lang.Exception: boom" + SEP));
+        sink.close();
+    }
+
+    @Test
+    public void simpleLoggerWritesToFile() throws IOException {
+        System.setProperty(SimpleLogger.LOG_FILE_KEY, file.getPath());
+        System.setProperty(SimpleLogger.FILE_FLUSH_INTERVAL_KEY, "60000");
+        SimpleLogger.init();
+        SimpleLogger fileLogger = new SimpleLogger("file");
+
+        fileLogger.info("hello {}", "world");
+        assertEquals("", contents());
+        SimpleLogger.CONFIG_PARAMS.close();
+        assertTrue(contents().endsWith("INFO file - hello world" + SEP));
+    }
+
+    @Test
+    public void asyncWriterIsDrainedBeforeTheFileIsClosed() throws IOException {
+        System.setProperty(SimpleLogger.LOG_FILE_KEY, file.getPath());
+        System.setProperty(SimpleLogger.FILE_FLUSH_INTERVAL_KEY, "60000");
+        System.setProperty(SimpleLogger.ASYNC_KEY, "true");
+        SimpleLogger.init();
+        SimpleLogger fileLogger = new SimpleLogger("file");
+        SimpleLoggerConfiguration configuration = SimpleLogger.CONFIG_PARAMS;
+        Thread shutdownHook = configuration.shutdownHook;
+        assertNotNull(shutdownHook);
+
+        for (int i = 0; i < 1000; i++) {
+            fileLogger.info("message {}", i);
+        }
+        configuration.close();
+        assertTrue(contents().endsWith("INFO file - message 999" + SEP));
+        // no longer registered
+        assertFalse(Runtime.getRuntime().removeShutdownHook(shutdownHook));
+    }
+}
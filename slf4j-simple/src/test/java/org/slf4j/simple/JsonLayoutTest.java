@@ -0,0 +1,101 @@
+package org.slf4j.simple;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.helpers.BasicMarkerFactory;
+
+public class JsonLayoutTest {
+
+    ByteArrayOutputStream bout = new ByteArrayOutputStream();
+    PrintStream original = System.err;
+    SimpleLogger logger;
+
+    @Before
+    public void before() {
+        System.setErr(new PrintStream(bout));
+        System.setProperty(SimpleLogger.LAYOUT_KEY, "json");
+        System.setProperty(SimpleLogger.DATE_TIME_FORMAT_KEY, "'T'");
+        SimpleLogger.init();
+        logger = new SimpleLogger("json.Logger");
+    }
+
+    @After
+    public void after() {
+        System.clearProperty(SimpleLogger.LAYOUT_KEY);
+        System.clearProperty(SimpleLogger.DATE_TIME_FORMAT_KEY);
+        System.setErr(original);
+        SimpleLogger.init();
+    }
+
+    String output() {
+        return new String(bout.toByteArray(), StandardCharsets.UTF_8).trim();
+    }
+
+    String prefix(String level) {
+        return "{\"timestamp\":\"T\",\"level\":\"" + level + "\",\"logger\":\"json.Logger\",\"thread\":\"" + Thread.currentThread().getName() + "\"";
+    }
+
+    @Test
+    public void plainMessage() {
+        logger.info("Hello {}", "world");
+        assertEquals(prefix("INFO") + ",\"message\":\"Hello world\"}", output());
+    }
+
+    @Test
+    public void messageIsEscaped() {
+        logger.warn("quote \" backslash \\ {} tab\t", "new\nline\u0001");
+        assertEquals(prefix("WARN") + ",\"message\":\"quote \\\" backslash \\\\ new\\nline\\u0001 tab\\t\"}", output());
+    }
+
+    @Test
+    public void markersAndKeyValuePairs() {
+        logger.atInfo().addMarker(new BasicMarkerFactory().getMarker("AUDIT")).addKeyValue("orderId", 42)
+                .addKeyValue("ratio", 0.5).addKeyValue("flag", true).addKeyValue("name", "a\"b").addKeyValue("none", (Object) null)
+                .log("Order {} shipped", 7);
+        assertEquals(prefix("INFO") + ",\"markers\":[\"AUDIT\"],\"kv\":{\"orderId\":42,\"ratio\":0.5,\"flag\":true,\"name\":\"a\\\"b\",\"none\":null}"
+                + ",\"message\":\"Order 7 shipped\"}", output());
+    }
+
+    @Test
+    public void throwableIsEmbedded() {
+        logger.error("failed", new IllegalStateException("boom"));
+        String output = output();
+        assertTrue(output, output.startsWith(prefix("ERROR") + ",\"message\":\"failed\",\"throwable\":\"java.lang.IllegalStateException: boom"));
+        assertTrue(output, output.endsWith("\"}"));
+        // a single line
+        assertEquals(-1, output.indexOf('\n'));
+    }
+
+    @Test
+    public void nonFiniteNumbersAreQuoted() {
+        StringBuilder buf = new StringBuilder();
+        JsonLayout.appendValue(buf, Double.NaN);
+        assertEquals("\"NaN\"", buf.toString());
+    }
+
+    @Test
+    public void nullStringIsJsonNull() {
+        StringBuilder buf = new StringBuilder();
+        JsonLayout.appendString(buf, null);
+        assertEquals("null", buf.toString());
+    }
+
+    @Test
+    public void escapingWriterEscapesAsItWrites() throws Exception {
+        StringBuilder buf = new StringBuilder();
+        Writer writer = new JsonLayout.EscapingWriter(buf);
+        writer.write("a\"b");
+        writer.write('\n');
+        writer.write(new char[] { 'x', '\\', 'y' }, 1, 2);
+        assertEquals("a\\\"b\\n\\\\y", buf.toString());
+    }
+}
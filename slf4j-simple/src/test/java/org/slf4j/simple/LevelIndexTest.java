@@ -0,0 +1,65 @@
+package org.slf4j.simple;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class LevelIndexTest {
+
+    LevelIndex index = new LevelIndex();
+
+    @Test
+    public void unsetWhenEmpty() {
+        assertEquals(LevelIndex.UNSET, index.getEffectiveLevel("a.b"));
+        assertEquals(LevelIndex.UNSET, index.getEffectiveLevel(""));
+    }
+
+    @Test
+    public void nearestAncestorWins() {
+        index.setLevel("a", SimpleLogger.LOG_LEVEL_WARN);
+        index.setLevel("a.b.c", SimpleLogger.LOG_LEVEL_DEBUG);
+
+        assertEquals(SimpleLogger.LOG_LEVEL_WARN, index.getEffectiveLevel("a"));
+        assertEquals(SimpleLogger.LOG_LEVEL_WARN, index.getEffectiveLevel("a.b"));
+        assertEquals(SimpleLogger.LOG_LEVEL_DEBUG, index.getEffectiveLevel("a.b.c"));
+        assertEquals(SimpleLogger.LOG_LEVEL_DEBUG, index.getEffectiveLevel("a.b.c.D"));
+        assertEquals(SimpleLogger.LOG_LEVEL_WARN, index.getEffectiveLevel("a.x.c"));
+        assertEquals(LevelIndex.UNSET, index.getEffectiveLevel("ab"));
+        assertEquals(LevelIndex.UNSET, index.getEffectiveLevel("b.a"));
+    }
+
+    @Test
+    public void segmentsAreMatchedExactly() {
+        index.setLevel("org.apache", SimpleLogger.LOG_LEVEL_ERROR);
+        assertEquals(LevelIndex.UNSET, index.getEffectiveLevel("org.apach"));
+        assertEquals(LevelIndex.UNSET, index.getEffectiveLevel("org.apacheX"));
+        assertEquals(SimpleLogger.LOG_LEVEL_ERROR, index.getEffectiveLevel("org.apache.http"));
+    }
+
+    @Test
+    public void levelsChangeAtRuntime() {
+        index.setLevel("a.b", SimpleLogger.LOG_LEVEL_TRACE);
+        assertEquals(SimpleLogger.LOG_LEVEL_TRACE, index.getEffectiveLevel("a.b.c"));
+
+        index.setLevel("a", SimpleLogger.LOG_LEVEL_INFO);
+        index.setLevel("a.b", SimpleLogger.LOG_LEVEL_OFF);
+        assertEquals(SimpleLogger.LOG_LEVEL_OFF, index.getEffectiveLevel("a.b.c"));
+
+        index.removeLevel("a.b");
+        assertEquals(SimpleLogger.LOG_LEVEL_INFO, index.getEffectiveLevel("a.b.c"));
+    }
+
+    @Test
+    public void simpleLoggerUsesIndex() {
+        String key = SimpleLogger.LOG_KEY_PREFIX + "levelIndexTest.x";
+        System.setProperty(key, "debug");
+        try {
+            SimpleLogger.init();
+            SimpleLogger logger = new SimpleLogger("levelIndexTest.x.y");
+            assertEquals(SimpleLogger.LOG_LEVEL_DEBUG, logger.currentLogLevel);
+        } finally {
+            System.clearProperty(key);
+            SimpleLogger.init();
+        }
+    }
+}
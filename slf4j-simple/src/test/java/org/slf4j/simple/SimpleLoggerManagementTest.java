@@ -0,0 +1,103 @@
+package org.slf4j.simple;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SimpleLoggerManagementTest {
+
+    ByteArrayOutputStream bout = new ByteArrayOutputStream();
+    PrintStream original = System.err;
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    ObjectName objectName;
+
+    @Before
+    public void before() throws Exception {
+        objectName = new ObjectName(SimpleLoggerMXBean.OBJECT_NAME);
+        System.setErr(new PrintStream(bout));
+        System.setProperty(SimpleLogger.JMX_KEY, "true");
+        SimpleLogger.init();
+    }
+
+    @After
+    public void after() throws Exception {
+        System.clearProperty(SimpleLogger.JMX_KEY);
+        System.setErr(original);
+        SimpleLogger.init();
+        if (server.isRegistered(objectName)) {
+            server.unregisterMBean(objectName);
+        }
+    }
+
+    @Test
+    public void loggersAndLevelsAreExposed() throws Exception {
+        SimpleLoggerFactory factory = new SimpleLoggerFactory();
+        SimpleLogger child = (SimpleLogger) factory.getLogger("jmx.a.b");
+        factory.getLogger("jmx.a");
+
+        assertArrayEquals(new String[] { "jmx.a", "jmx.a.b" }, (String[]) server.getAttribute(objectName, "LoggerNames"));
+        assertEquals("INFO", server.invoke(objectName, "getLoggerLevel", new Object[] { "jmx.a.b" }, new String[] { String.class.getName() }));
+
+        server.invoke(objectName, "setLoggerLevel", new Object[] { "jmx.a", "debug" }, new String[] { String.class.getName(), String.class.getName() });
+        assertTrue(child.isDebugEnabled());
+        assertFalse(child.isTraceEnabled());
+        assertEquals("DEBUG", server.invoke(objectName, "getLoggerLevel", new Object[] { "jmx.a.c" }, new String[] { String.class.getName() }));
+
+        server.invoke(objectName, "setLoggerLevel", new Object[] { "jmx.a", null }, new String[] { String.class.getName(), String.class.getName() });
+        assertFalse(child.isDebugEnabled());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownLevelIsRejected() {
+        new SimpleLoggerManagement(new SimpleLoggerFactory()).setLoggerLevel("jmx.a", "verbose");
+    }
+
+    @Test
+    public void writesAreCounted() throws Exception {
+        SimpleLoggerFactory factory = new SimpleLoggerFactory();
+        SimpleLogger logger = (SimpleLogger) factory.getLogger("jmx.counted");
+        logger.info("one");
+        logger.info("two");
+        logger.warn("three");
+        logger.debug("not written");
+
+        assertEquals(2L, server.getAttribute(objectName, "InfoEventCount"));
+        assertEquals(1L, server.getAttribute(objectName, "WarnEventCount"));
+        assertEquals(0L, server.getAttribute(objectName, "DebugEventCount"));
+        assertEquals(3L, server.getAttribute(objectName, "WriteCount"));
+        assertEquals((long) bout.size(), server.getAttribute(objectName, "CharsWritten"));
+        assertTrue((Long) server.getAttribute(objectName, "MaxWriteNanos") > 0);
+
+        server.invoke(objectName, "resetStatistics", null, null);
+        assertEquals(0L, server.getAttribute(objectName, "WriteCount"));
+    }
+
+    @Test
+    public void nothingIsCountedByDefault() {
+        System.clearProperty(SimpleLogger.JMX_KEY);
+        SimpleLogger.init();
+        assertEquals(null, SimpleLogger.CONFIG_PARAMS.statistics);
+        assertFalse(server.isRegistered(objectName));
+    }
+
+    @Test
+    public void mostRecentFactoryIsExposed() throws Exception {
+        // the MBean is replaced by that of the most recent factory
+        new SimpleLoggerFactory();
+        SimpleLoggerFactory latest = new SimpleLoggerFactory();
+        latest.getLogger("jmx.latest");
+        assertArrayEquals(new String[] { "jmx.latest" }, (String[]) server.getAttribute(objectName, "LoggerNames"));
+    }
+}
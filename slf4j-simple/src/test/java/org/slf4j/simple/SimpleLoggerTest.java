@@ -26,7 +26,6 @@ package org.slf4j.simple;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
-import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.io.ByteArrayOutputStream;
@@ -35,6 +34,8 @@ import java.io.PrintStream;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.slf4j.event.DefaultLoggingEvent;
+import org.slf4j.event.Level;
 public class SimpleLoggerTest {
 
     String A_KEY = SimpleLogger.LOG_KEY_PREFIX + "a";
@@ -54,10 +55,17 @@ public class SimpleLoggerTest {
         System.setErr(original);
     }
 
+    // the level found for 'name' or its ancestors, LevelIndex.UNSET if none
+    int levelFound(String name) {
+        return SimpleLogger.CONFIG_PARAMS.levelIndex.getEffectiveLevel(name);
+    }
+
     @Test
     public void emptyLoggerName() {
+        SimpleLogger.init();
         SimpleLogger simpleLogger = new SimpleLogger("a");
-        assertEquals("info", simpleLogger.recursivelyComputeLevelString());
+        assertEquals(SimpleLogger.LOG_LEVEL_INFO, levelFound("a"));
+        assertEquals(SimpleLogger.LOG_LEVEL_INFO, simpleLogger.currentLogLevel);
     }
 
     @Test
@@ -65,7 +73,7 @@ public class SimpleLoggerTest {
         System.setProperty(A_KEY, "off");
         SimpleLogger.init();
         SimpleLogger simpleLogger = new SimpleLogger("a");
-        assertEquals("off", simpleLogger.recursivelyComputeLevelString());
+        assertEquals(SimpleLogger.LOG_LEVEL_OFF, simpleLogger.currentLogLevel);
         assertFalse(simpleLogger.isErrorEnabled());
     }
 
@@ -74,25 +82,42 @@ public class SimpleLoggerTest {
         SimpleLogger.init();
         SimpleLogger simpleLogger = new SimpleLogger("a");
 
-        assertEquals("info", simpleLogger.recursivelyComputeLevelString());
+        assertEquals(SimpleLogger.LOG_LEVEL_INFO, levelFound("a"));
+        assertEquals(SimpleLogger.LOG_LEVEL_INFO, simpleLogger.currentLogLevel);
     }
 
     @Test
     public void loggerNameWithOneDotShouldInheritFromParent() {
+        SimpleLogger.init();
         SimpleLogger simpleLogger = new SimpleLogger("a.b");
-        assertEquals("info", simpleLogger.recursivelyComputeLevelString());
+        assertEquals(SimpleLogger.LOG_LEVEL_INFO, levelFound("a.b"));
+        assertEquals(SimpleLogger.LOG_LEVEL_INFO, simpleLogger.currentLogLevel);
     }
 
     @Test
     public void loggerNameWithNoDots_WithNoSetLevel() {
+        SimpleLogger.init();
         SimpleLogger simpleLogger = new SimpleLogger("x");
-        assertNull(simpleLogger.recursivelyComputeLevelString());
+        assertEquals(LevelIndex.UNSET, levelFound("x"));
+        assertEquals(SimpleLogger.CONFIG_PARAMS.defaultLogLevel, simpleLogger.currentLogLevel);
     }
 
     @Test
     public void loggerNameWithOneDot_NoSetLevel() {
+        SimpleLogger.init();
         SimpleLogger simpleLogger = new SimpleLogger("x.y");
-        assertNull(simpleLogger.recursivelyComputeLevelString());
+        assertEquals(LevelIndex.UNSET, levelFound("x.y"));
+        assertEquals(SimpleLogger.CONFIG_PARAMS.defaultLogLevel, simpleLogger.currentLogLevel);
+    }
+
+    @Test
+    public void levelPropertiesAreReadAtInitialization() {
+        SimpleLogger.init();
+        System.setProperty(A_KEY, "error");
+        assertTrue(new SimpleLogger("a").isInfoEnabled());
+
+        SimpleLogger.init();
+        assertFalse(new SimpleLogger("a").isInfoEnabled());
     }
 
     @Test
@@ -119,4 +144,22 @@ public class SimpleLoggerTest {
         replacement.flush();
         assertTrue(bout.toString().contains("INFO "+this.getClass().getName()+" - hello"));
     }
+    @Test
+    public void primitiveArgumentsOfLoggingEvent() {
+        SimpleLogger.init();
+        SimpleLogger simpleLogger = new SimpleLogger(this.getClass().getName());
+        System.setErr(replacement);
+
+        DefaultLoggingEvent event = new DefaultLoggingEvent(Level.INFO, simpleLogger);
+        event.setMessage("{} {} {} {} {}");
+        event.addArgument(1);
+        event.addArgument(2L);
+        event.addArgument(1.5f);
+        event.addArgument(2.5d);
+        event.addArgument('c');
+        simpleLogger.log(event);
+
+        replacement.flush();
+        assertTrue(bout.toString().contains("INFO " + this.getClass().getName() + " - 1 2 1.5 2.5 c"));
+    }
 }